@@ -0,0 +1,60 @@
+package de.incentergy.geometry.benchmark;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+
+/**
+ * Polygons of a given number of vertices used by the benchmarks
+ */
+public enum BenchmarkPolygons {
+
+    /**
+     * Polygon inscribed in an ellipse with semi-axes 100 and 60, with vertices at equal angles<br>
+     * Not a regular polygon: the symmetries of a regular one make many edge pairs tie, which is not what real input looks like.
+     */
+    CONVEX {
+        @Override
+        public Polygon create(int vertexCount) {
+            Coordinate[] vertices = new Coordinate[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                double angle = 2 * Math.PI * i / vertexCount;
+                vertices[i] = new Coordinate(100 * Math.cos(angle), 60 * Math.sin(angle));
+            }
+            return GeometryFactoryUtils.createPolygon(vertices);
+        }
+    },
+
+    /**
+     * Comb with teeth of width 10 and height 100 standing on a base of height 20, having 4 vertices per tooth
+     */
+    CONCAVE {
+        @Override
+        public Polygon create(int vertexCount) {
+            if (vertexCount < 8 || vertexCount % 4 != 0) {
+                throw new IllegalArgumentException("Comb must have a multiple of 4 vertices, at least 8");
+            }
+            int toothCount = vertexCount / 4;
+            Coordinate[] vertices = new Coordinate[vertexCount];
+            int v = 0;
+            vertices[v++] = new Coordinate(0, 0);
+            for (int i = 0; i < toothCount; i++) {
+                vertices[v++] = new Coordinate(20 * i, 120);
+                vertices[v++] = new Coordinate(20 * i + 10, 120);
+                if (i < toothCount - 1) {
+                    vertices[v++] = new Coordinate(20 * i + 10, 20);
+                    vertices[v++] = new Coordinate(20 * i + 20, 20);
+                } else {
+                    vertices[v++] = new Coordinate(20 * i + 10, 0);        // the base ends below the last tooth
+                }
+            }
+            return GeometryFactoryUtils.createPolygon(vertices);
+        }
+    };
+
+    /**
+     * @param vertexCount number of vertices of the exterior ring (without the closing one)
+     */
+    public abstract Polygon create(int vertexCount);
+}
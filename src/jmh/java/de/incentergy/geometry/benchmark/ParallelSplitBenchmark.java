@@ -0,0 +1,70 @@
+package de.incentergy.geometry.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.impl.GreedyPolygonSplitter;
+import de.incentergy.geometry.utils.PolygonGenerator;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+
+/**
+ * Time of a split searching the edge pairs on a fork-join pool of the given parallelism, compared to the sequential search (parallelism 0)<br>
+ * The parallel search should not be slower than the sequential one, even with more workers than cores.
+ * Equality of their parts is checked by {@code PolygonSplitterTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelSplitBenchmark {
+
+    @Param({ "400", "1600" })
+    public int vertexCount;
+
+    @Param({ "0", "2", "4" })
+    public int parallelism;
+
+    private Polygon polygon;
+    private ForkJoinPool forkJoinPool;
+    private GreedyPolygonSplitter splitter;
+
+    @Setup
+    public void setUp() {
+        polygon = new PolygonGenerator(1).generate(Shape.SPIRAL, vertexCount);
+        splitter = new GreedyPolygonSplitter();
+        if (parallelism > 0) {
+            forkJoinPool = new ForkJoinPool(parallelism);
+            splitter.withForkJoinPool(forkJoinPool);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<Polygon> split() {
+        return splitter.split(polygon, 5);
+    }
+}
@@ -0,0 +1,91 @@
+package de.incentergy.geometry.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link SplitBenchmark} over a range of vertex counts and a range of part counts and prints the scaling curves.<br>
+ * Besides the time (and the allocation per split, if run with {@code -prof gc}) every row shows the local exponent of the curve,
+ * i.e. the slope {@code log(t2 / t1) / log(x2 / x1)} between the row and the previous one: a change of the exponent means a change of the
+ * asymptotics, while a change of the time alone only means a change of the constants.
+ * <p>
+ * Arguments are JMH command line options (e.g. {@code -prof gc -f 1}), applied to every run.
+ */
+public final class ScalingReport {
+
+    private static final String[] VERTEX_COUNTS = { "16", "32", "64", "128", "256", "512" };
+    private static final String FIXED_VERTEX_COUNT = "128";
+    private static final String[] PART_COUNTS = { "2", "4", "8", "16", "32" };
+    private static final String FIXED_PART_COUNT = "4";
+
+    private static final String ALLOCATION_RESULT_SUFFIX = "gc.alloc.rate.norm";
+
+    private ScalingReport() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        for (BenchmarkPolygons shape : BenchmarkPolygons.values()) {
+            Collection<RunResult> byVertexCount = run(commandLineOptions, shape, VERTEX_COUNTS, new String[] { FIXED_PART_COUNT });
+            print("Time vs n (" + shape + ", k = " + FIXED_PART_COUNT + ")", "n", "vertexCount", byVertexCount);
+
+            Collection<RunResult> byPartCount = run(commandLineOptions, shape, new String[] { FIXED_VERTEX_COUNT }, PART_COUNTS);
+            print("Time vs k (" + shape + ", n = " + FIXED_VERTEX_COUNT + ")", "k", "parts", byPartCount);
+        }
+    }
+
+    private static Collection<RunResult> run(CommandLineOptions commandLineOptions, BenchmarkPolygons shape, String[] vertexCounts, String[] partCounts)
+            throws RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .include(SplitBenchmark.class.getName())
+                .param("shape", shape.name())
+                .param("vertexCount", vertexCounts)
+                .param("parts", partCounts)
+                .build();
+        return new Runner(options).run();
+    }
+
+    private static void print(String title, String variableName, String paramName, Collection<RunResult> results) {
+        System.out.println();
+        System.out.println(title);
+        System.out.println(String.format("%8s %14s %10s %16s", variableName, "time", "exponent", "bytes/split"));
+
+        List<RunResult> orderedResults = new ArrayList<>(results);
+        orderedResults.sort(Comparator.comparingDouble(result -> Double.parseDouble(result.getParams().getParam(paramName))));
+
+        double previousVariable = Double.NaN;
+        double previousScore = Double.NaN;
+        for (RunResult result : orderedResults) {
+            double variable = Double.parseDouble(result.getParams().getParam(paramName));
+            Result<?> primaryResult = result.getPrimaryResult();
+            double score = primaryResult.getScore();
+            double exponent = Math.log(score / previousScore) / Math.log(variable / previousVariable);
+            System.out.println(String.format("%8.0f %11.3f %-2s %10s %16s", variable, score, primaryResult.getScoreUnit().replace("/op", ""),
+                    Double.isNaN(exponent) ? "" : String.format("%.2f", exponent), getAllocation(result)));
+            previousVariable = variable;
+            previousScore = score;
+        }
+    }
+
+    private static String getAllocation(RunResult result) {
+        for (Map.Entry<String, Result> secondaryResult : result.getSecondaryResults().entrySet()) {
+            if (secondaryResult.getKey().endsWith(ALLOCATION_RESULT_SUFFIX)) {
+                return String.format("%.0f", secondaryResult.getValue().getScore());
+            }
+        }
+        return "";
+    }
+}
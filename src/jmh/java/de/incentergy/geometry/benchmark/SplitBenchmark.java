@@ -0,0 +1,55 @@
+package de.incentergy.geometry.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.impl.GreedyPolygonSplitter;
+
+/**
+ * Time of a complete split, by vertex count, shape and number of parts
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitBenchmark {
+
+    @Param({ "32", "128", "512" })
+    public int vertexCount;
+
+    @Param({ "CONVEX", "CONCAVE" })
+    public BenchmarkPolygons shape;
+
+    @Param({ "2", "4", "8" })
+    public int parts;
+
+    private Polygon polygon;
+    private GreedyPolygonSplitter splitter;
+
+    @Setup
+    public void setUp() {
+        polygon = shape.create(vertexCount);
+        splitter = new GreedyPolygonSplitter();
+    }
+
+    @Benchmark
+    public List<Polygon> split() {
+        return splitter.split(polygon, parts);
+    }
+}
@@ -0,0 +1,63 @@
+package de.incentergy.geometry.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.impl.GoldenCorpus.Entry;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+
+/**
+ * Time of splitting all polygons of one shape from the {@link GoldenCorpus}, skipping the ones which fail to split.<br>
+ * Output equivalence of the same splits is checked by {@code GoldenCorpusTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CorpusBenchmark {
+
+    @Param({ "CONVEX", "STAR", "COMB", "SPIRAL", "RECTILINEAR", "PARCEL" })
+    public Shape shape;
+
+    private final List<Polygon> polygons = new ArrayList<>();
+    private final List<Integer> parts = new ArrayList<>();
+    private GreedyPolygonSplitter splitter;
+
+    @Setup
+    public void setUp() throws IOException {
+        for (Entry entry : GoldenCorpus.read()) {
+            if (entry.shape == shape && entry.failure == null) {
+                polygons.add(entry.createPolygon());
+                parts.add(entry.parts);
+            }
+        }
+        splitter = GoldenCorpus.createSplitter();
+    }
+
+    @Benchmark
+    public int splitAll() {
+        int partCount = 0;
+        for (int i = 0; i < polygons.size(); i++) {
+            partCount += splitter.split(polygons.get(i), parts.get(i)).size();
+        }
+        return partCount;
+    }
+}
@@ -0,0 +1,78 @@
+package de.incentergy.geometry.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.benchmark.BenchmarkPolygons;
+
+/**
+ * Time of building all edge pairs of a polygon and producing their cuts, the way the splitter does in one iteration
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EdgePairBenchmark {
+
+    @Param({ "16", "64" })
+    public int vertexCount;
+
+    @Param({ "CONVEX", "CONCAVE" })
+    public BenchmarkPolygons shape;
+
+    private RingIndex ring;
+    private double singlePartArea;
+
+    @Setup
+    public void setUp() {
+        Polygon polygon = shape.create(vertexCount);
+        ring = new RingIndex(polygon);
+        singlePartArea = polygon.getArea() / 4;
+    }
+
+    /**
+     * {@link EdgePair} construction plus {@link EdgePair.EdgePairSubpolygons#getCuts(RingIndex, double, boolean)} for every pair
+     */
+    @Benchmark
+    public int edgePairs() {
+        int cutCount = 0;
+        for (int i = 0; i < ring.size() - 2; i++) {
+            for (int j = i + 2; j < ring.size() && j - i + 1 < ring.size(); j++) {
+                cutCount += new EdgePair(ring.getSegment(i), ring.getSegment(j)).getSubpolygons().getCuts(ring, singlePartArea, false).size();
+            }
+        }
+        return cutCount;
+    }
+
+    /**
+     * {@link IndexedEdgePair#set(RingIndex, int, int)} plus {@link IndexedEdgePair#getCuts(RingIndex, int, int, double, double[], boolean)}
+     * for every pair, reusing one instance
+     */
+    @Benchmark
+    public int indexedEdgePairs() {
+        IndexedEdgePair edgePair = new IndexedEdgePair();
+        double[] cuts = new double[IndexedEdgePair.MAX_CUTS_SIZE];
+        int cutCount = 0;
+        for (int i = 0; i < ring.size() - 2; i++) {
+            for (int j = i + 2; j < ring.size() && j - i + 1 < ring.size(); j++) {
+                cutCount += edgePair.set(ring, i, j).getCuts(ring, i, j, singlePartArea, cuts, false);
+            }
+        }
+        return cutCount;
+    }
+}
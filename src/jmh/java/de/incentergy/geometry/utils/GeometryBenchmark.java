@@ -0,0 +1,98 @@
+package de.incentergy.geometry.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.benchmark.BenchmarkPolygons;
+
+/**
+ * Time of the polygon construction helpers and of the predicates used while evaluating cuts
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+
+    @Param({ "16", "256" })
+    public int vertexCount;
+
+    private Polygon polygon;
+    private Coordinate startVertex;
+    private Coordinate endVertex;
+    private Coordinate startPoint;
+    private Coordinate endPoint;
+
+    private LineSegment edgeA;
+    private LineSegment edgeB;
+    private LineSegment chord;
+    private GeometryUtils.IntersectionCoordinate intersectionPoint;
+
+    @Setup
+    public void setUp() {
+        polygon = BenchmarkPolygons.CONVEX.create(vertexCount);
+        Coordinate[] vertices = polygon.getExteriorRing().getCoordinates();
+        startVertex = vertices[0];
+        endVertex = vertices[vertexCount / 2];
+
+        // cut across the polygon from the middle of the first edge to the middle of an edge a third of the way around, which is not parallel to it
+        edgeA = new LineSegment(vertices[0], vertices[1]);
+        edgeB = new LineSegment(vertices[vertexCount / 3], vertices[vertexCount / 3 + 1]);
+        startPoint = edgeA.midPoint();
+        endPoint = edgeB.midPoint();
+        chord = new LineSegment(startPoint, endPoint);
+        intersectionPoint = GeometryUtils.getIntersectionPoint(edgeA, edgeB);
+    }
+
+    @Benchmark
+    public Polygon slicePolygon() {
+        return GeometryFactoryUtils.slicePolygon(polygon, startPoint, endPoint);
+    }
+
+    @Benchmark
+    public Polygon getSubpolygon() {
+        return GeometryFactoryUtils.getSubpolygon(polygon, startVertex, endVertex);
+    }
+
+    @Benchmark
+    public Polygon[] splitPolygon() {
+        return GeometryFactoryUtils.splitPolygon(polygon, startPoint, endPoint);
+    }
+
+    @Benchmark
+    public boolean isIntersectingPolygon() {
+        return GeometryUtils.isIntersectingPolygon(chord, polygon);
+    }
+
+    @Benchmark
+    public Coordinate getIntersectionPoint() {
+        return GeometryUtils.getIntersectionPoint(edgeA, edgeB);
+    }
+
+    @Benchmark
+    public Coordinate getProjectedPoint() {
+        return GeometryUtils.getProjectedPoint(edgeA.p1, edgeB, intersectionPoint);
+    }
+
+    @Benchmark
+    public boolean isPointOnLineSegment() {
+        return GeometryUtils.isPointOnLineSegment(startPoint, edgeA);
+    }
+}
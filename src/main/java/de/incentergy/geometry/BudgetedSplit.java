@@ -0,0 +1,51 @@
+package de.incentergy.geometry;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+/**
+ * Parts of a polygon split within a time budget, see {@link PolygonSplitter#split(Polygon, int, long, java.util.concurrent.TimeUnit)}.<br>
+ * If the budget ran out, the parts still have equal areas, but the cuts are not the ones the splitter would have chosen without a budget.
+ */
+public final class BudgetedSplit {
+
+    private final List<Polygon> parts;
+    private final boolean approximate;
+
+    private BudgetedSplit(List<Polygon> parts, boolean approximate) {
+        this.parts = Objects.requireNonNull(parts, "Parts are required");
+        this.approximate = approximate;
+    }
+
+    /**
+     * @param parts parts of the split which was completed within the budget
+     */
+    public static BudgetedSplit exact(List<Polygon> parts) {
+        return new BudgetedSplit(parts, false);
+    }
+
+    /**
+     * @param parts parts of the split which was completed in a cheaper way after the budget ran out
+     */
+    public static BudgetedSplit approximate(List<Polygon> parts) {
+        return new BudgetedSplit(parts, true);
+    }
+
+    public List<Polygon> getParts() {
+        return parts;
+    }
+
+    /**
+     * @return true if the budget ran out before the split was complete
+     */
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetedSplit [parts=" + parts.size() + ", approximate=" + approximate + "]";
+    }
+}
@@ -1,6 +1,9 @@
 package de.incentergy.geometry;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import com.vividsolutions.jts.geom.Polygon;
 
@@ -15,4 +18,34 @@ public interface PolygonSplitter {
      */
     List<Polygon> split(Polygon polygon, int parts);
 
+    /**
+     * Splits the polygon into parts of equal area within a time budget.<br>
+     * When the budget runs out, the split is completed in a cheaper way and the result is marked approximate, so the time taken exceeds the
+     * budget by the time of that completion. Splitters which can not be stopped ignore the budget, which is the default.
+     *
+     * @param polygon - polygon to split
+     * @param parts - number of equal area parts that must be produced
+     * @param budget - time the split may take
+     * @param unit - unit of the budget
+     * @return
+     */
+    default BudgetedSplit split(Polygon polygon, int parts, long budget, TimeUnit unit) {
+        return BudgetedSplit.exact(split(polygon, parts));
+    }
+
+    /**
+     * Splits the polygon into parts of equal area on the given executor.<br>
+     * Splitters which can be stopped stop soon after the returned future is cancelled, or the thread running the split is interrupted, and
+     * complete the future exceptionally by a {@link java.util.concurrent.CancellationException}. By default the split can not be stopped, it
+     * runs to its end even if the future is cancelled.
+     *
+     * @param polygon - polygon to split
+     * @param parts - number of equal area parts that must be produced
+     * @param executor - executor to run the split on
+     * @return future completed by the parts, or by the exception the split failed with
+     */
+    default CompletableFuture<List<Polygon>> splitAsync(Polygon polygon, int parts, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> split(polygon, parts), executor);
+    }
+
 }
@@ -0,0 +1,36 @@
+package de.incentergy.geometry;
+
+import java.util.Objects;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+/**
+ * A polygon to split into a number of parts, as one of the jobs of a batch
+ */
+public final class SplitJob {
+
+    private final Polygon polygon;
+    private final int parts;
+
+    /**
+     * @param polygon polygon to split
+     * @param parts number of equal area parts to produce
+     */
+    public SplitJob(Polygon polygon, int parts) {
+        this.polygon = Objects.requireNonNull(polygon, "Polygon is required");
+        this.parts = parts;
+    }
+
+    public Polygon getPolygon() {
+        return polygon;
+    }
+
+    public int getParts() {
+        return parts;
+    }
+
+    @Override
+    public String toString() {
+        return "SplitJob [parts=" + parts + ", vertices=" + polygon.getNumPoints() + "]";
+    }
+}
@@ -0,0 +1,97 @@
+package de.incentergy.geometry;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+/**
+ * Outcome of a {@link SplitJob}: either the parts of the polygon, or the exception the split failed with.<br>
+ * Along with the time the split took, the result holds the time it was predicted to take, so that the prediction can be tuned.
+ */
+public final class SplitResult {
+
+    private final int index;
+    private final SplitJob job;
+    private final List<Polygon> parts;
+    private final RuntimeException failure;
+    private final long predictedNanos;
+    private final long actualNanos;
+
+    private SplitResult(int index, SplitJob job, List<Polygon> parts, RuntimeException failure, long predictedNanos, long actualNanos) {
+        this.index = index;
+        this.job = Objects.requireNonNull(job, "Job is required");
+        this.parts = parts;
+        this.failure = failure;
+        this.predictedNanos = predictedNanos;
+        this.actualNanos = actualNanos;
+    }
+
+    /**
+     * @param index position of the job in the batch
+     * @param predictedNanos time the split was predicted to take
+     * @param actualNanos time the split took
+     */
+    public static SplitResult success(int index, SplitJob job, List<Polygon> parts, long predictedNanos, long actualNanos) {
+        return new SplitResult(index, job, Objects.requireNonNull(parts, "Parts are required"), null, predictedNanos, actualNanos);
+    }
+
+    /**
+     * @param index position of the job in the batch
+     * @param predictedNanos time the split was predicted to take
+     * @param actualNanos time the split took until it failed
+     */
+    public static SplitResult failure(int index, SplitJob job, RuntimeException failure, long predictedNanos, long actualNanos) {
+        return new SplitResult(index, job, Collections.emptyList(), Objects.requireNonNull(failure, "Failure is required"), predictedNanos, actualNanos);
+    }
+
+    /**
+     * @return position of the job in the batch, starting with 0
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public SplitJob getJob() {
+        return job;
+    }
+
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    /**
+     * @return parts of the polygon, or an empty list if the split failed
+     */
+    public List<Polygon> getParts() {
+        return parts;
+    }
+
+    /**
+     * @return exception the split failed with, or null if it was successful
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return time in nanoseconds the split was predicted to take
+     */
+    public long getPredictedNanos() {
+        return predictedNanos;
+    }
+
+    /**
+     * @return time in nanoseconds the split took
+     */
+    public long getActualNanos() {
+        return actualNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SplitResult [index=" + index + ", " + (failure == null ? "parts=" + parts.size() : "failure=" + failure)
+                + ", predictedNanos=" + predictedNanos + ", actualNanos=" + actualNanos + "]";
+    }
+}
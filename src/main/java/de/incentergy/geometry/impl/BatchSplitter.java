@@ -0,0 +1,257 @@
+package de.incentergy.geometry.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.SplitJob;
+import de.incentergy.geometry.SplitResult;
+
+/**
+ * Splits batches of polygons by a {@link GreedyPolygonSplitter}, running the jobs in parallel on a pool of threads.<br>
+ * A job which fails does not affect the other ones, its exception is returned in its {@link SplitResult}.
+ * Every thread keeps the working memory of its splits and reuses it for its next job.
+ * <p>
+ * The cost of every job is predicted by a cost model, and the most expensive jobs are started first, so that a large job read late does not
+ * keep one thread busy after the others have run out of work. Jobs predicted to take longer than a threshold are split by all threads
+ * together, evaluating their edge pairs on a fork-join pool of the thread count: such a job is started once the running jobs are done,
+ * and no other job is started until it is done, so that no more than the thread count of threads are busy at any time. Jobs whose polygons
+ * the splitter searches on the calling thread anyway, i.e. convex and rectilinear ones, are scheduled like all others.
+ * Every result reports its predicted and its actual time.
+ */
+public class BatchSplitter {
+
+    private static final int LOOKAHEAD_JOBS_PER_THREAD = 64;      // jobs read ahead to find the most expensive ones, without reading the whole batch
+
+    private static final long NANOS_PER_PART = 50_000;            // building and cutting the polygon of every iteration
+    private static final long NANOS_PER_PART_AND_VERTEX_PAIR = 100;  // evaluating the edge pairs left after pruning
+
+    private final GreedyPolygonSplitter splitter;
+    private final ThreadLocal<SplitScratch> scratch = ThreadLocal.withInitial(SplitScratch::new);
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+    private ExecutorService executorService;
+    private ToLongFunction<SplitJob> costModel = BatchSplitter::estimateNanos;
+    private long parallelSplitThreshold = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /**
+     * @param splitter splitter to split every polygon with, configured as required
+     */
+    public BatchSplitter(GreedyPolygonSplitter splitter) {
+        this.splitter = Objects.requireNonNull(splitter, "Splitter is required");
+    }
+
+    /**
+     * Sets the number of threads of the pool created for every batch, the number of available processors by default.<br>
+     * If the jobs are run on a given executor service, the number of jobs submitted to it at once is limited to this number.
+     *
+     * @param threadCount number of threads
+     * @return this splitter
+     */
+    public BatchSplitter withThreadCount(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.threadCount = threadCount;
+        return this;
+    }
+
+    /**
+     * Runs the jobs on the given executor service, which is not shut down after the batch.
+     *
+     * @param executorService executor service to run the jobs on, or null to create a pool for every batch (default)
+     * @return this splitter
+     */
+    public BatchSplitter withExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    /**
+     * Sets the cost model, which predicts the time a job takes, {@link #estimateNanos(SplitJob)} by default.<br>
+     * Jobs are started in the order of decreasing predicted time, and those predicted to take longer than the parallel split threshold are split
+     * by all threads together.
+     *
+     * @param costModel function predicting the time in nanoseconds a job takes
+     * @return this splitter
+     */
+    public BatchSplitter withCostModel(ToLongFunction<SplitJob> costModel) {
+        this.costModel = Objects.requireNonNull(costModel, "Cost model is required");
+        return this;
+    }
+
+    /**
+     * Sets the predicted time above which a job is split by all threads together, 200 ms by default.<br>
+     * Its edge pairs are evaluated on a fork-join pool of the thread count, which is shared by all such jobs of the batch. The job takes
+     * the place of all threads of the batch, i.e. it waits for the running jobs and runs alone. This only applies to jobs whose edge pairs
+     * the splitter evaluates on a pool, see {@link GreedyPolygonSplitter#withForkJoinPool(ForkJoinPool)}.
+     *
+     * @param nanos predicted time in nanoseconds, or {@link Long#MAX_VALUE} to split every job on a single thread
+     * @return this splitter
+     */
+    public BatchSplitter withParallelSplitThreshold(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Parallel split threshold must not be negative");
+        }
+        this.parallelSplitThreshold = nanos;
+        return this;
+    }
+
+    /**
+     * Default cost model: the time a split takes by the {@link GreedyPolygonSplitter} with its default configuration.<br>
+     * Every part requires an iteration over all pairs of edges, so the time grows with the number of parts times the square of the number of
+     * vertices. Evaluating a pair is cubic without pruning, but pruning discards most pairs by their bounds, which leaves the square.
+     *
+     * @return predicted time in nanoseconds
+     */
+    public static long estimateNanos(SplitJob job) {
+        long vertexCount = job.getPolygon().getExteriorRing().getNumPoints() - 1;
+        return job.getParts() * (NANOS_PER_PART + NANOS_PER_PART_AND_VERTEX_PAIR * vertexCount * vertexCount);
+    }
+
+    /**
+     * Splits all polygons of the batch.<br>
+     * All jobs are read before the first one is started, so that they are started strictly in the order of decreasing predicted time.
+     *
+     * @param jobs jobs of the batch
+     * @return results in the order of the jobs
+     * @throws InterruptedException if the thread is interrupted while waiting for the results
+     */
+    public List<SplitResult> splitAll(Iterable<SplitJob> jobs) throws InterruptedException {
+        List<SplitResult> results = new ArrayList<>();
+        splitAll(jobs.iterator(), result -> {
+            while (results.size() <= result.getIndex()) {
+                results.add(null);
+            }
+            results.set(result.getIndex(), result);
+        }, Integer.MAX_VALUE);
+        return results;
+    }
+
+    /**
+     * Splits all polygons of the batch, passing the results to the consumer in the order the jobs are completed.<br>
+     * Jobs are read from the iterator ahead of the threads, up to a multiple of the thread count, so the batch does not need to fit in memory.
+     * The most expensive job read so far is started whenever a thread becomes available. The consumer is called by the calling thread,
+     * {@link SplitResult#getIndex()} tells the position of the job in the batch.
+     *
+     * @param jobs jobs of the batch
+     * @param resultConsumer consumer of the results
+     * @throws InterruptedException if the thread is interrupted while waiting for the results
+     */
+    public void splitAll(Iterator<SplitJob> jobs, Consumer<? super SplitResult> resultConsumer) throws InterruptedException {
+        splitAll(jobs, resultConsumer, threadCount * LOOKAHEAD_JOBS_PER_THREAD);
+    }
+
+    private void splitAll(Iterator<SplitJob> jobs, Consumer<? super SplitResult> resultConsumer, int lookaheadJobCount)
+            throws InterruptedException {
+        ExecutorService executor = executorService != null ? executorService : Executors.newFixedThreadPool(threadCount);
+        ForkJoinPool forkJoinPool = null;
+        try {
+            CompletionService<SplitResult> completionService = new ExecutorCompletionService<>(executor);
+            PriorityQueue<ScheduledJob> scheduledJobs = new PriorityQueue<>(
+                    Comparator.comparingLong((ScheduledJob scheduledJob) -> -scheduledJob.predictedNanos).thenComparingInt(scheduledJob -> scheduledJob.index));
+            int pendingJobCount = 0;
+            boolean parallelJobPending = false;         // a job split by all threads is the only pending one
+            int jobCount = 0;
+            while (true) {
+                while (scheduledJobs.size() < lookaheadJobCount && jobs.hasNext()) {
+                    SplitJob job = Objects.requireNonNull(jobs.next(), "Job is required");
+                    long predictedNanos = costModel.applyAsLong(job);
+                    boolean parallel = threadCount > 1 && predictedNanos > parallelSplitThreshold && usesForkJoinPool(job);
+                    scheduledJobs.add(new ScheduledJob(jobCount++, job, predictedNanos, parallel));
+                }
+                ScheduledJob nextJob = scheduledJobs.peek();
+                boolean parallel = nextJob != null && nextJob.parallel;
+                if (nextJob != null && !parallelJobPending && pendingJobCount < (parallel ? 1 : threadCount)) {
+                    ScheduledJob scheduledJob = scheduledJobs.poll();
+                    if (parallel && forkJoinPool == null) {
+                        forkJoinPool = new ForkJoinPool(threadCount);
+                    }
+                    ForkJoinPool jobForkJoinPool = parallel ? forkJoinPool : null;
+                    completionService.submit(() -> split(scheduledJob, jobForkJoinPool));
+                    pendingJobCount++;
+                    parallelJobPending = parallel;
+                } else if (pendingJobCount > 0) {
+                    resultConsumer.accept(getResult(completionService.take()));
+                    pendingJobCount--;
+                    parallelJobPending = false;
+                } else {
+                    break;
+                }
+            }
+        } finally {
+            if (executor != executorService) {
+                executor.shutdownNow();
+            }
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * @return true if the splitter evaluates the edge pairs of the job on a pool, false if it would leave the other threads idle
+     */
+    private boolean usesForkJoinPool(SplitJob job) {
+        try {
+            return splitter.usesForkJoinPool(job.getPolygon());
+        } catch (RuntimeException e) {
+            return false;           // the split fails as well, on a single thread
+        }
+    }
+
+    /**
+     * @param forkJoinPool pool to evaluate the edge pairs on, or null to use the configuration of the splitter
+     */
+    private SplitResult split(ScheduledJob scheduledJob, ForkJoinPool forkJoinPool) {
+        SplitJob job = scheduledJob.job;
+        long start = System.nanoTime();
+        try {
+            List<Polygon> parts = splitter.split(job.getPolygon(), job.getParts(), scratch.get(), forkJoinPool);
+            return SplitResult.success(scheduledJob.index, job, parts, scheduledJob.predictedNanos, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            return SplitResult.failure(scheduledJob.index, job, e, scheduledJob.predictedNanos, System.nanoTime() - start);
+        }
+    }
+
+    private static SplitResult getResult(Future<SplitResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // exceptions of the splits are part of their results, so only errors end up here
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Split job failed unexpectedly", cause);
+        }
+    }
+
+    private static final class ScheduledJob {
+        private final int index;
+        private final SplitJob job;
+        private final long predictedNanos;
+        private final boolean parallel;             // split by all threads together
+
+        private ScheduledJob(int index, SplitJob job, long predictedNanos, boolean parallel) {
+            this.index = index;
+            this.job = job;
+            this.predictedNanos = predictedNanos;
+            this.parallel = parallel;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package de.incentergy.geometry.impl;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Point at which a split has to stop searching for the shortest cuts: a deadline, or the cancellation of the split.<br>
+ * The searches check it before every edge pair and every row of pair keys, as the check takes a fraction of the time to evaluate a pair,
+ * while evaluating the pairs of a large polygon between two checks could take long. Once the checkpoint is found reached, it stays reached
+ * without reading the clock again, so all tasks of a parallel search stop. A reached deadline lets the split complete in a cheaper way, a cancellation ends it by a
+ * {@link CancellationException}, see {@link #throwIfCancelled()}.
+ */
+final class Checkpoint {
+
+    /** checkpoint which is never reached, checked without reading the clock */
+    static final Checkpoint NONE = new Checkpoint(0, false, false);
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+    private final boolean cancellable;
+    private volatile boolean reached;
+    private volatile boolean cancelled;
+    private volatile Thread worker;
+
+    private Checkpoint(long deadlineNanos, boolean bounded, boolean cancellable) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+        this.cancellable = cancellable;
+    }
+
+    /**
+     * @param budget time from now until the deadline
+     * @param unit unit of the budget
+     * @return checkpoint reached at the deadline
+     */
+    static Checkpoint after(long budget, TimeUnit unit) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Budget must not be negative");
+        }
+        long budgetNanos = unit.toNanos(budget);
+        // budgets beyond ~146 years do not fit into the difference of two nano times
+        return budgetNanos >= Long.MAX_VALUE / 2 ? NONE : new Checkpoint(System.nanoTime() + budgetNanos, true, false);
+    }
+
+    /**
+     * Runs a split on the executor, passing it a checkpoint which is reached when the returned future is completed by any other means than
+     * the split, e.g. cancelled, or when the thread running the split is interrupted.
+     *
+     * @param split split to run, ending by a {@link CancellationException} if the checkpoint is cancelled
+     * @param executor executor to run the split on
+     * @return future completed by the result of the split
+     */
+    static <T> CompletableFuture<T> supplyAsync(Function<Checkpoint, T> split, Executor executor) {
+        Checkpoint checkpoint = new Checkpoint(0, false, true);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, failure) -> checkpoint.cancel());
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return;             // cancelled before it was started
+            }
+            checkpoint.worker = Thread.currentThread();
+            try {
+                future.complete(split.apply(checkpoint));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                checkpoint.worker = null;
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Cancels the split, which stops at its next check.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if the deadline has passed or the split is cancelled
+     */
+    boolean isReached() {
+        if (reached) {
+            return true;
+        }
+        if (bounded && System.nanoTime() - deadlineNanos >= 0) {
+            reached = true;
+        } else if (isCancelled()) {
+            reached = true;
+        }
+        return reached;
+    }
+
+    /**
+     * @return true if an earlier call of {@link #isReached()} found the checkpoint reached, i.e. a search was stopped short of its end
+     */
+    boolean wasReached() {
+        return reached;
+    }
+
+    /**
+     * @throws CancellationException if the split is cancelled, or the thread running it is interrupted
+     */
+    void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Split was cancelled");
+        }
+    }
+
+    /**
+     * @return true if the split is cancelled, or the thread running it is interrupted; false for a passed deadline
+     */
+    boolean isCancelled() {
+        if (!cancellable) {
+            return false;
+        }
+        // the searches of a parallel split run on other threads than the one which is interrupted
+        Thread thread = worker;
+        if (!cancelled && thread != null && thread.isInterrupted()) {
+            cancelled = true;
+        }
+        return cancelled;
+    }
+}
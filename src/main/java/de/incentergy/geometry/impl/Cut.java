@@ -1,23 +1,40 @@
 package de.incentergy.geometry.impl;
 
+import com.vividsolutions.jts.geom.LineSegment;
 import com.vividsolutions.jts.geom.Polygon;
 
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+
+/**
+ * A candidate line of cut.<br>
+ * Only the line and its length are kept, the polygon being cut away is built on demand, i.e. once for the winning cut.
+ */
 public class Cut {
 
     private final double length;        // length of cut
-    private final Polygon cutAway;
+    private final LineSegment lineOfCut;
 
-    public Cut(double lengthOfCut, Polygon cutAway) {
-        this.length = lengthOfCut;
-        this.cutAway = cutAway;
+    public Cut(LineSegment lineOfCut) {
+        this.lineOfCut = lineOfCut;
+        this.length = lineOfCut.getLength();
     }
 
     public double getLength() {
         return length;
     }
 
-    public Polygon getCutAway() {
-        return cutAway;
+    public LineSegment getLineOfCut() {
+        return lineOfCut;
+    }
+
+    /**
+     * Builds the part that this cut separates from the polygon, i.e. the part going from start to end of the line of cut along the exterior ring.
+     *
+     * @param polygon the polygon in which this cut was produced
+     * @return the part of polygon being cut away
+     */
+    public Polygon getCutAway(Polygon polygon) {
+        return GeometryFactoryUtils.slicePolygon(polygon, lineOfCut.p0, lineOfCut.p1);
     }
 
 }
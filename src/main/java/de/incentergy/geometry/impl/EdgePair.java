@@ -15,7 +15,8 @@ import de.incentergy.geometry.utils.GeometryUtils.IntersectionCoordinate;
 
 /**
  * Represents a pair of edges on polygon's exterior ring.<br>
- * Warning: direction of edges is assumed to be the same as in the polygon's exterior ring.
+ * Warning: direction of edges is assumed to be the same as in the polygon's exterior ring.<br>
+ * The splitter evaluates edge pairs with {@link IndexedEdgePair}, which computes the same cuts on the primitive arrays of a {@link RingIndex}.
  * <p>
  * Possible lines of cut are located in one of:
  * <ul>
@@ -173,54 +174,72 @@ class EdgePair {
          * Produces a a collection of possible cuts located in one of {@link EdgePairSubpolygons}.
          * @param polygon The polygon from which the area should be cut away
          * @param singlePartArea area to cut away
-         * @param segmentCountBetweenEdgePair number of line segments between edgeA and edgeB (exclusive)
-         * @param segmentCountOutsideEdgePair number of line segments between edgeB and edgeA (exclusive)
          * @return A list of 0, 1 or 2 possible cuts
          */
         public List<Cut> getCuts(Polygon polygon, double singlePartArea) {
+            return getCuts(new RingIndex(polygon), singlePartArea, false);
+        }
+
+        /**
+         * Produces a a collection of possible cuts located in one of {@link EdgePairSubpolygons}.
+         * @param ring index of the exterior ring of the polygon from which the area should be cut away
+         * @param singlePartArea area to cut away
+         * @param verifyAreas true to check that the subpolygons and the areas outside of the pair make up the polygon, see {@link Verification#FULL}
+         * @return A list of 0, 1 or 2 possible cuts
+         * @throws IllegalStateException if the areas are verified and do not match
+         */
+        List<Cut> getCuts(RingIndex ring, double singlePartArea, boolean verifyAreas) {
+            int indexOfEdgeA = ring.indexOf(edgeA);
+            int indexOfEdgeB = ring.indexOf(edgeB);
+            if (indexOfEdgeA < 0 || indexOfEdgeB < 0) {
+                throw new IllegalArgumentException("Edges of the pair must be part of the exterior ring of the polygon");
+            }
+
+            // Polygon's exterior ring is equal to [edgeA + segmentsBetweenEdgePair + edgeB + segmentsOutsideEdgePair]
+            int segmentCountBetweenEdgePair = ring.getSegmentCountBetween(indexOfEdgeA, indexOfEdgeB);
+            int segmentCountOutsideEdgePair = ring.getSegmentCountOutside(indexOfEdgeA, indexOfEdgeB);
+
+            // if edges are not connected directly, polygon has extra area adjacent to them
+            // (bounded by segmentsBetweenEdgePair from edgeA.p1 to edgeB.p0 and by segmentsOutsideEdgePair from edgeB.p1 to edgeA.p0)
+            double areaOutside1 = segmentCountBetweenEdgePair > 1 ? ring.getSubpolygonArea(indexOfEdgeA + 1, indexOfEdgeB) : 0;
+            double areaOutside2 = segmentCountOutsideEdgePair > 1 ? ring.getSubpolygonArea((indexOfEdgeB + 1) % ring.size(), indexOfEdgeA) : 0;
+
+            // short circuit for when neither direction has the area to cut away - no geometry needs to be built or tested then
+            boolean firstDirectionPossible = areaOutside1 <= singlePartArea && areaOutside1 + getTotalArea() >= singlePartArea;
+            boolean secondDirectionPossible = areaOutside2 <= singlePartArea && areaOutside2 + getTotalArea() >= singlePartArea;
+            if (!firstDirectionPossible && !secondDirectionPossible) {
+                return Collections.emptyList();
+            }
+
             // sanity-check
-            if (!polygon.contains(trapezoid) || (triangle1 != null && !polygon.contains(triangle1)) || (triangle2 != null && !polygon.contains(triangle2))) {
+            if (!ring.contains(trapezoid) || (triangle1 != null && !ring.contains(triangle1)) || (triangle2 != null && !ring.contains(triangle2))) {
                 // FIXME: some part of subpolygon falls outside of the actual polygon. This can happen for some convex polygons.
                 // A proper solution might likely be to update the subpolygon with the actual part of the polygon covered, but this needs to be researched.
                 return Collections.emptyList();
             }
 
-            List<Cut> cuts = new ArrayList<>(2);
-
-            List<LineSegment> segments = GeometryUtils.getLineSegments(polygon.getExteriorRing());
-            int indexOfEdgeA = segments.indexOf(edgeA);
-            int indexOfEdgeB = segments.indexOf(edgeB);
-            int segmentsCovered = indexOfEdgeB - indexOfEdgeA + 1;            // number of segments covered by a LineRing starting with edgeA and ending with edgeB (including)
-
-            // Polygon's exterior ring is equal to [edgeA + segmentsBetweenEdgePair + edgeB + segmentsOutsideEdgePair]
-            int segmentCountBetweenEdgePair = segmentsCovered - 2;
-            int segmentCountOutsideEdgePair = segments.size() - segmentsCovered;
-
-            // if edges are not connected directly, polygon has extra area adjacent to them
-            Polygon polygonOutside1 = null;
-            Polygon polygonOutside2 = null;
             if (segmentCountBetweenEdgePair > 1) {
-                // calculate extra area bounded by segmentsBetweenEdgePair
-                polygonOutside1 = GeometryFactoryUtils.getSubpolygon(polygon, edgeA.p1, edgeB.p0);
+                Polygon polygonOutside1 = ring.getSubpolygon(indexOfEdgeA + 1, indexOfEdgeB);
 
                 // TODO: determine if this is always correct
                 // short circuit for when the area between edgePoints contains some which is not part of
-                if (!polygon.contains(polygonOutside1)) {
+                if (!ring.contains(polygonOutside1)) {
                     return Collections.emptyList();
                 }
+                areaOutside1 = polygonOutside1.getArea();           // equal up to rounding, but keeps points of cut the same as computed by JTS
             }
             if (segmentCountOutsideEdgePair > 1) {
-                // calculate extra area bounded by segmentsOutsideEdgePair
-                polygonOutside2 = GeometryFactoryUtils.getSubpolygon(polygon, edgeB.p1, edgeA.p0);
+                Polygon polygonOutside2 = ring.getSubpolygon((indexOfEdgeB + 1) % ring.size(), indexOfEdgeA);
 
                 // TODO: determine if this is always correct
                 // short circuit for when the area between edgePoints contains some which is not part of
-                if (!polygon.contains(polygonOutside2)) {
+                if (!ring.contains(polygonOutside2)) {
                     return Collections.emptyList();
                 }
+                areaOutside2 = polygonOutside2.getArea();
             }
-            double areaOutside1 = polygonOutside1 != null ? polygonOutside1.getArea() : 0;
-            double areaOutside2 = polygonOutside2 != null ? polygonOutside2.getArea() : 0;
+
+            List<Cut> cuts = new ArrayList<>(2);
 
             // check first direction (areaOutside1 + T1 + Trapezoid + T2)
             if (areaOutside1 <= singlePartArea) {
@@ -235,7 +254,8 @@ class EdgePair {
                     ProjectedVertex projected0 = (ProjectedVertex) triangle1.getCoordinates()[1];
                     LineSegment edgeWithPointOfCut = projected0.isOnEdge(edgeA) ? new LineSegment(edgeA.p1, projected0) : new LineSegment(edgeB.p0, projected0);
                     Coordinate pointOfCut = edgeWithPointOfCut.pointAlong(fraction);
-                    lineOfCut = GeometryUtils.isPointOnLineSegment(pointOfCut, edgeA) ? new LineSegment(pointOfCut, edgeB.p0) : new LineSegment(edgeA.p1, pointOfCut);
+                    // point of cut is on the same edge as the projected vertex (testing the point itself is prone to rounding errors)
+                    lineOfCut = projected0.isOnEdge(edgeA) ? new LineSegment(pointOfCut, edgeB.p0) : new LineSegment(edgeA.p1, pointOfCut);
 
                 } else if (areaOutside1 + triangle1Area + trapezoidArea >= singlePartArea) {
                     // produce cut in Trapezoid
@@ -259,13 +279,12 @@ class EdgePair {
                     ProjectedVertex projected1 = (ProjectedVertex) triangle2.getCoordinates()[1];
                     LineSegment edgeWithPointOfCut = projected1.isOnEdge(edgeA) ? new LineSegment(projected1, edgeA.p0) : new LineSegment(projected1, edgeB.p1);
                     Coordinate pointOfCut = edgeWithPointOfCut.pointAlong(fraction);
-                    lineOfCut = GeometryUtils.isPointOnLineSegment(pointOfCut, edgeA) ? new LineSegment(pointOfCut, edgeB.p1) : new LineSegment(edgeA.p0, pointOfCut);
+                    lineOfCut = projected1.isOnEdge(edgeA) ? new LineSegment(pointOfCut, edgeB.p1) : new LineSegment(edgeA.p0, pointOfCut);
                 }
 
-                if (lineOfCut != null && !GeometryUtils.isIntersectingPolygon(lineOfCut, polygon)) {
+                if (lineOfCut != null && !ring.isIntersecting(lineOfCut)) {
                     // only consider cuts that do not intersect the exterior ring of the polygon
-                    Polygon cutAwayPolygon = GeometryFactoryUtils.slicePolygon(polygon, lineOfCut.p0, lineOfCut.p1);
-                    cuts.add(new Cut(lineOfCut.getLength(), cutAwayPolygon));
+                    cuts.add(new Cut(lineOfCut));
                 }
             }
 
@@ -281,7 +300,7 @@ class EdgePair {
                     ProjectedVertex projected1 = (ProjectedVertex) triangle2.getCoordinates()[1];
                     LineSegment edgeWithPointOfCut = projected1.isOnEdge(edgeA) ? new LineSegment(edgeA.p0, projected1) : new LineSegment(edgeB.p1, projected1);
                     Coordinate pointOfCut = edgeWithPointOfCut.pointAlong(fraction);
-                    lineOfCut = GeometryUtils.isPointOnLineSegment(pointOfCut, edgeA) ? new LineSegment(edgeB.p1, pointOfCut) : new LineSegment(pointOfCut, edgeA.p0);
+                    lineOfCut = projected1.isOnEdge(edgeA) ? new LineSegment(edgeB.p1, pointOfCut) : new LineSegment(pointOfCut, edgeA.p0);
 
                 } else if (areaOutside2 + triangle2Area + trapezoidArea >= singlePartArea) {
                     // produce cut in Trapezoid
@@ -305,20 +324,17 @@ class EdgePair {
                     ProjectedVertex projected0 = (ProjectedVertex) triangle1.getCoordinates()[1];
                     LineSegment edgeWithPointOfCut = projected0.isOnEdge(edgeA) ? new LineSegment(projected0, edgeA.p1) : new LineSegment(projected0, edgeB.p0);
                     Coordinate pointOfCut = edgeWithPointOfCut.pointAlong(fraction);
-                    lineOfCut = GeometryUtils.isPointOnLineSegment(pointOfCut, edgeA) ? new LineSegment(edgeB.p0, pointOfCut) : new LineSegment(pointOfCut, edgeA.p1);
+                    lineOfCut = projected0.isOnEdge(edgeA) ? new LineSegment(edgeB.p0, pointOfCut) : new LineSegment(pointOfCut, edgeA.p1);
                 }
 
-                if (lineOfCut != null && !GeometryUtils.isIntersectingPolygon(lineOfCut, polygon)) {
+                if (lineOfCut != null && !ring.isIntersecting(lineOfCut)) {
                     // only consider cuts that do not intersect the exterior ring of the polygon
-                    Polygon cutAwayPolygon = GeometryFactoryUtils.slicePolygon(polygon, lineOfCut.p0, lineOfCut.p1);
-                    cuts.add(new Cut(lineOfCut.getLength(), cutAwayPolygon));
+                    cuts.add(new Cut(lineOfCut));
                 }
             }
 
-            // TODO: remove this
-            // sanity check
-            if (!GeometryUtils.equalWithinDelta(areaOutside1 + areaOutside2 + getTotalArea(), polygon.getArea())) {
-                throw new IllegalStateException();
+            if (verifyAreas && !GeometryUtils.equalWithinDelta(areaOutside1 + areaOutside2 + getTotalArea(), ring.getArea())) {
+                throw new IllegalStateException("Subpolygons of " + this + " do not make up the polygon");
             }
 
             return Collections.unmodifiableList(cuts);
@@ -1,17 +1,27 @@
 package de.incentergy.geometry.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.geom.LineSegment;
 import com.vividsolutions.jts.geom.Polygon;
 
+import de.incentergy.geometry.BudgetedSplit;
 import de.incentergy.geometry.PolygonSplitter;
-import de.incentergy.geometry.impl.EdgePair.EdgePairSubpolygons;
 import de.incentergy.geometry.utils.GeometryFactoryUtils;
-import de.incentergy.geometry.utils.GeometryUtils;
+import de.incentergy.geometry.utils.PolygonValidator;
 
 /**
  * {@link PolygonSplitter} implementation based on the algorithm by Sumit Khetarpal
@@ -20,69 +30,680 @@ import de.incentergy.geometry.utils.GeometryUtils;
  */
 public class GreedyPolygonSplitter implements PolygonSplitter {
 
+    private static final int MAX_SEGMENT_COUNT_FOR_PRUNING = 8192;          // above it the rows of pair keys are produced again too often
+    private static final double CONVEX_WINDOW_TOLERANCE = 1e-9;               // relative to the area of the polygon
+
+    private boolean preparedContainment = true;
+    private boolean indexedIntersection = true;
+    private boolean pruning = true;
+    private boolean overlayDifference = false;
+    private boolean convexWindows = true;
+    private boolean rectilinearCuts = true;
+    private ForkJoinPool forkJoinPool;
+    private Verification verification = Verification.CHEAP;
+
+    /**
+     * Enables or disables containment tests against a prepared polygon, which is built once per split iteration.<br>
+     * Enabled by default.
+     *
+     * @param preparedContainment true to use a prepared polygon, false to use plain {@link Polygon#contains(com.vividsolutions.jts.geom.Geometry)}
+     * @return this splitter
+     */
+    public GreedyPolygonSplitter withPreparedContainment(boolean preparedContainment) {
+        this.preparedContainment = preparedContainment;
+        return this;
+    }
+
+    /**
+     * Enables or disables a spatial index over the exterior ring segments, which is built once per split iteration
+     * and used to test candidate cuts for intersections with the ring.<br>
+     * Enabled by default.
+     *
+     * @param indexedIntersection true to use the spatial index, false to test every ring segment
+     * @return this splitter
+     */
+    public GreedyPolygonSplitter withIndexedIntersection(boolean indexedIntersection) {
+        this.indexedIntersection = indexedIntersection;
+        return this;
+    }
+
+    /**
+     * Enables or disables best-first evaluation of edge pairs with lower-bound pruning.<br>
+     * The distance between edgeA and edgeB is a lower bound of any cut between them, so the pairs are evaluated in the order of that
+     * distance and the evaluation stops as soon as no remaining pair can produce a cut shorter than the best one found so far.
+     * The result is the same as the one of exhaustive evaluation, including the choice among cuts of equal length.<br>
+     * Enabled by default for polygons of up to 8192 vertices, also in parallel, see {@link #withForkJoinPool(ForkJoinPool)}.
+     *
+     * @param pruning true to prune edge pairs that can not produce the shortest cut, false to evaluate all of them
+     * @return this splitter
+     */
+    public GreedyPolygonSplitter withPruning(boolean pruning) {
+        this.pruning = pruning;
+        return this;
+    }
+
+    /**
+     * Selects how the remainder of the polygon is computed after each cut.<br>
+     * By default the exterior ring is spliced at the points of cut (see {@link GeometryFactoryUtils#splitPolygon(Polygon, com.vividsolutions.jts.geom.Coordinate, com.vividsolutions.jts.geom.Coordinate)}),
+     * which takes linear time. Overlay difference of JTS is the fallback for the cases where splicing is not desired.
+     *
+     * @param overlayDifference true to compute the remainder using {@link Polygon#difference(com.vividsolutions.jts.geom.Geometry)}, false to splice the ring
+     * @return this splitter
+     */
+    public GreedyPolygonSplitter withOverlayDifference(boolean overlayDifference) {
+        this.overlayDifference = overlayDifference;
+        return this;
+    }
+
+    /**
+     * Enables or disables the search of convex polygons, which only evaluates the edge pairs that may have a cut of the area to cut away.<br>
+     * In a convex polygon the area between two edges grows with the distance between them along the ring, so these pairs are found by two
+     * pointers walking around the ring in linear time, instead of ordering all pairs. Convexity is checked in every iteration, as the
+     * remainder of a concave polygon often becomes convex after a few cuts. The result is the same as the one of exhaustive evaluation,
+     * including the choice among cuts of equal length.<br>
+     * This is not a rotating search of the shortest chord in linear time: the pairs found are still ordered by their lower bounds and
+     * evaluated including the containment and intersection checks, which take most of the time, so the search is only ~1.6 times faster
+     * for a few hundred vertices, and less for more. Skipping the checks would change the cuts, as they also reject pairs of convex polygons.<br>
+     * Enabled by default, it takes precedence over {@link #withPruning(boolean)} and {@link #withForkJoinPool(ForkJoinPool)} for convex polygons
+     * of up to 65536 vertices.
+     *
+     * @param convexWindows true to search convex polygons by two pointers, false to search them like any other polygon
+     * @return this splitter
+     */
+    public GreedyPolygonSplitter withConvexWindows(boolean convexWindows) {
+        this.convexWindows = convexWindows;
+        return this;
+    }
+
+    /**
+     * Enables or disables the search of rectilinear polygons, i.e. polygons whose edges are all parallel to the axes, among cuts parallel to
+     * the axes only.<br>
+     * The area on either side of such a cut is known from prefix sums over the slabs between the vertex coordinates, so the position of the
+     * cut is solved for directly instead of evaluating edge pairs, see {@link RectilinearRing}. An axis-parallel cut keeps the remainder
+     * rectilinear; if no axis-parallel cut of the area crosses the polygon in a single line, the edge pairs are evaluated as usual.
+     * The parts are not the same as the ones of the edge pairs, whose cuts are not limited to the directions of the axes, and the cuts are
+     * often longer: for the rectilinear polygons of the golden corpus the total length of the cuts is ~10% longer at the median and up to
+     * 2.2 times as long, for the combs it is the same at the median, but 2.8 times as long for one in ten and up to 6.4 times as long.
+     * In return the parts have exactly equal areas, and the search takes a fraction of the time.<br>
+     * Enabled by default, it takes precedence over all other options of the search for rectilinear polygons.
+     *
+     * @param rectilinearCuts true to cut rectilinear polygons parallel to the axes, false to search them like any other polygon
+     * @return this splitter
+     */
+    public GreedyPolygonSplitter withRectilinearCuts(boolean rectilinearCuts) {
+        this.rectilinearCuts = rectilinearCuts;
+        return this;
+    }
+
+    /**
+     * Enables parallel evaluation of edge pairs on the given pool.<br>
+     * With pruning (see {@link #withPruning(boolean)}), the rows of pair keys are sorted in parallel, and every worker of the pool takes the
+     * pairs in batches in the order of their lower bound. The workers share the length of the shortest cut found so far, so that all of them
+     * stop as soon as no remaining pair can produce a shorter cut. Without pruning, the pair space is partitioned by the index of the first
+     * edge and every task reduces its part to the shortest cut.
+     * The result is the same as the one of sequential evaluation, including the choice among cuts of equal length.
+     *
+     * @param forkJoinPool pool to evaluate edge pairs on, or null to evaluate them sequentially (default)
+     * @return this splitter
+     */
+    public GreedyPolygonSplitter withForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    /**
+     * Selects how thoroughly the produced parts are checked to make up the original polygon, see {@link Verification}.<br>
+     * {@link Verification#CHEAP} by default, {@link Verification#FULL} also checks the areas of every edge pair which has the area to cut away.
+     *
+     * @param verification level of verification
+     * @return this splitter
+     */
+    public GreedyPolygonSplitter withVerification(Verification verification) {
+        this.verification = Objects.requireNonNull(verification, "Verification is required");
+        return this;
+    }
+
     @Override
     public List<Polygon> split(Polygon originalPolygon, int numberOfParts) {
-        if (!originalPolygon.isValid()) {
-            throw new IllegalArgumentException("Polygon is not valid!");
+        return split(originalPolygon, numberOfParts, new SplitScratch(), null);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * The search of edge pairs checks the deadline as it goes. When the budget runs out, the cut of the current iteration is the shortest one
+     * evaluated so far, and the remainder is split into parallel strips by a {@link StripPolygonSplitter}, which takes O(n log n + k n).
+     * If no cut was evaluated yet, the whole remainder of the iteration is split into strips.
+     *
+     * @throws IllegalStateException if the budget ran out and the remainder is cut more than once by strips in every direction
+     */
+    @Override
+    public BudgetedSplit split(Polygon originalPolygon, int numberOfParts, long budget, TimeUnit unit) {
+        return split(originalPolygon, numberOfParts, new SplitScratch(), null, Checkpoint.after(budget, unit));
+    }
+
+    /**
+     * @param scratch working memory, kept by the caller to be reused by its next split
+     * @param forkJoinPool pool to evaluate edge pairs on instead of the configured one, or null to use the configured one
+     */
+    List<Polygon> split(Polygon originalPolygon, int numberOfParts, SplitScratch scratch, ForkJoinPool forkJoinPool) {
+        return split(originalPolygon, numberOfParts, scratch, forkJoinPool, Checkpoint.NONE).getParts();
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Cancelling the future, or interrupting the thread running the split, stops the search of edge pairs before the next pair or row of
+     * pair keys, including the tasks of a parallel search, and the future completes exceptionally by a {@link CancellationException}.
+     * The validation of the polygon and the index of its ring are built without checks, and the split stops after them.
+     */
+    @Override
+    public CompletableFuture<List<Polygon>> splitAsync(Polygon originalPolygon, int numberOfParts, Executor executor) {
+        return Checkpoint.supplyAsync(checkpoint -> split(originalPolygon, numberOfParts, new SplitScratch(), null, checkpoint).getParts(), executor);
+    }
+
+    /**
+     * @param checkpoint deadline after which the remainder is split into strips, or cancellation which ends the split
+     * @throws CancellationException if the split is cancelled
+     */
+    private BudgetedSplit split(Polygon originalPolygon, int numberOfParts, SplitScratch scratch, ForkJoinPool forkJoinPool, Checkpoint checkpoint) {
+        PolygonValidator.Result validation = PolygonValidator.validate(originalPolygon);
+        if (!validation.isValid()) {
+            throw new IllegalArgumentException("Polygon is not valid: " + validation);
         }
         if (numberOfParts < 2) {
             throw new IllegalArgumentException("Number of parts should be greater than 1!");
         }
-        // TODO: add validation - at least 4 sides, no holes
+        checkpoint.throwIfCancelled();
 
         double singlePartArea = originalPolygon.getArea() / numberOfParts;
 
         List<Polygon> polygonParts = new ArrayList<>(numberOfParts);
         Polygon remainingPoly = originalPolygon;
-        for (int i = 0; i < numberOfParts - 1; i++) {
-            remainingPoly = split(remainingPoly, polygonParts, singlePartArea);
+        for (int i = 0; i < numberOfParts - 1 && remainingPoly != null; i++) {
+            remainingPoly = split(remainingPoly, polygonParts, numberOfParts - i, singlePartArea, scratch,
+                    forkJoinPool != null ? forkJoinPool : this.forkJoinPool, checkpoint);
+        }
+        if (remainingPoly != null) {
+            polygonParts.add(remainingPoly);
+        }
+        checkpoint.throwIfCancelled();
+
+        PartsVerifier.verify(originalPolygon, polygonParts, verification);
+
+        List<Polygon> parts = Collections.unmodifiableList(polygonParts);
+        // every search which found the deadline passed was stopped short, or was replaced by strips
+        return checkpoint.wasReached() ? BudgetedSplit.approximate(parts) : BudgetedSplit.exact(parts);
+    }
+
+    /**
+     * @param remainingPartCount number of parts the polygon is still to be split into
+     * @return the remainder of the polygon, or null if it was split into strips after the deadline
+     */
+    private Polygon split(Polygon polygon, List<Polygon> resultList, int remainingPartCount, double singlePartArea, SplitScratch scratch,
+            ForkJoinPool forkJoinPool, Checkpoint checkpoint) {
+        Polygon[] cutAwayAndRemainder = checkpoint.isReached() ? null : cut(polygon, singlePartArea, scratch, forkJoinPool, checkpoint);
+        checkpoint.throwIfCancelled();
+        if (cutAwayAndRemainder == null && checkpoint.wasReached()) {
+            // a search which has not found a cut by the deadline is not continued, it may have none at all
+            resultList.addAll(splitIntoStrips(polygon, remainingPartCount));
+            return null;
+        }
+        if (cutAwayAndRemainder == null) {
+            throw new IllegalStateException("No cut of the required area was found");
+        }
+        resultList.add(cutAwayAndRemainder[0]);
+        return cutAwayAndRemainder[1];
+    }
+
+    /**
+     * Splits the remainder of the polygon when the budget has run out, in a single sweep instead of searching edge pairs for every part.
+     *
+     * The polygon is a piece of a validated one, which may have become a triangle, so it is not validated again.
+     *
+     * @throws IllegalStateException if the polygon is cut more than once by strips in every direction
+     */
+    static List<Polygon> splitIntoStrips(Polygon polygon, int numberOfParts) {
+        // the parts of the whole split are verified at its end
+        List<Polygon> strips = new StripPolygonSplitter().withVerification(Verification.NONE).splitValid(polygon, numberOfParts);
+        if (strips == null) {
+            throw new IllegalStateException("The budget ran out and the remainder can not be split into strips");
+        }
+        return strips;
+    }
+
+    /**
+     * Cuts the given area away from the polygon by the shortest cut, which is a single iteration of the split.<br>
+     * The area is not required to be a fraction of the polygon's area, see {@link RecursiveBisectionSplitter}.
+     *
+     * @param areaToCutAway area of the first returned polygon
+     * @param scratch working memory, kept by the caller to be reused by its next cut
+     * @param forkJoinPool pool to evaluate edge pairs on, or null to evaluate them sequentially
+     * @param checkpoint checkpoint at which the search stops, taking the shortest cut evaluated so far
+     * @return the part cut away and the remainder of the polygon, or null if no edge pair has a cut of the area
+     */
+    Polygon[] cut(Polygon polygon, double areaToCutAway, SplitScratch scratch, ForkJoinPool forkJoinPool, Checkpoint checkpoint) {
+        if (rectilinearCuts && RectilinearRing.isRectilinear(polygon.getExteriorRing().getCoordinates())) {
+            Polygon[] cutAwayAndRemainder = new RectilinearRing(polygon).cut(areaToCutAway);
+            if (cutAwayAndRemainder != null) {
+                return cutAwayAndRemainder;
+            }
         }
-        polygonParts.add(remainingPoly);
 
-        // sanity check: total area is the same
-        double totalAreaOfTheParts = polygonParts.stream().mapToDouble(Polygon::getArea).sum();
-        if (!GeometryUtils.equalWithinDelta(totalAreaOfTheParts, originalPolygon.getArea())) {
-            throw new IllegalStateException("Area of the parts does not match original area");
+        RingIndex ring = new RingIndex(polygon, preparedContainment, indexedIntersection);
+        if (checkpoint.isReached()) {
+            return null;
         }
+        boolean verifyAreas = verification == Verification.FULL;
+        int edgeCountA = ring.size() - 2;
 
-        // sanity check: geometry is the same
-        Polygon unionOfTheParts = (Polygon) GeometryFactoryUtils.createGeometryCollection(polygonParts).union();
-        if (unionOfTheParts.equalsNorm(originalPolygon)) {
-            throw new IllegalStateException("The sum of the parts is not equal to the original polygon");
+        Cut shortestCut;
+        if (convexWindows && ring.size() <= PairKeyQueue.MAX_SEGMENT_COUNT && ring.isConvex()) {
+            shortestCut = getShortestCutConvex(ring, areaToCutAway, verifyAreas, scratch, checkpoint);
+        } else if (pruning && ring.size() <= MAX_SEGMENT_COUNT_FOR_PRUNING && forkJoinPool != null) {
+            shortestCut = getShortestCutBestFirst(ring.initializeForConcurrentUse(), areaToCutAway, verifyAreas, forkJoinPool, checkpoint);
+        } else if (pruning && ring.size() <= MAX_SEGMENT_COUNT_FOR_PRUNING) {
+            shortestCut = getShortestCutBestFirst(ring, areaToCutAway, verifyAreas, scratch, checkpoint);
+        } else if (forkJoinPool != null) {
+            shortestCut = forkJoinPool.invoke(new ShortestCutTask(ring.initializeForConcurrentUse(), areaToCutAway, verifyAreas, 0, edgeCountA,
+                    checkpoint));
+        } else {
+            shortestCut = getShortestCut(ring, areaToCutAway, verifyAreas, 0, edgeCountA, scratch, checkpoint);
+        }
+        if (shortestCut == null) {
+            return null;
+        }
+        if (overlayDifference) {
+            Polygon cutAway = shortestCut.getCutAway(polygon);
+            return new Polygon[] { cutAway, (Polygon) polygon.difference(cutAway) };
         }
 
-        return Collections.unmodifiableList(polygonParts);
+        LineSegment lineOfCut = shortestCut.getLineOfCut();
+        return GeometryFactoryUtils.splitPolygon(polygon, lineOfCut.p0, lineOfCut.p1);
     }
 
-    private Polygon split(Polygon polygon, List<Polygon> resultList, double singlePartArea) {
-        List<LineSegment> segments = GeometryUtils.getLineSegments(polygon.getExteriorRing());
+    /**
+     * Tells whether a split of the polygon evaluates its edge pairs on a fork-join pool, if it is given one.<br>
+     * Rectilinear polygons are cut parallel to the axes and convex polygons are searched by windows, both on the calling thread, see
+     * {@link #withRectilinearCuts(boolean)} and {@link #withConvexWindows(boolean)}. The first iteration decides, though the remainder of a
+     * concave polygon may become convex after a few cuts.
+     *
+     * @return true if the edge pairs of the polygon are evaluated on the pool
+     */
+    boolean usesForkJoinPool(Polygon polygon) {
+        Coordinate[] ring = polygon.getExteriorRing().getCoordinates();
+        if (rectilinearCuts && RectilinearRing.isRectilinear(ring)) {
+            return false;
+        }
+        return !(convexWindows && ring.length - 1 <= PairKeyQueue.MAX_SEGMENT_COUNT && RingIndex.isConvex(ring));
+    }
 
-        List<Cut> possibleCuts = new ArrayList<>();
+    /**
+     * @return the configured pool to evaluate edge pairs on, or null if they are evaluated sequentially
+     */
+    ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * @return the configured level of verification
+     */
+    Verification getVerification() {
+        return verification;
+    }
+
+    /**
+     * Evaluates all edge pairs having the first edge in the given range.
+     *
+     * @param fromIndex index of the first edgeA to evaluate (inclusive)
+     * @param toIndex index of the last edgeA to evaluate (exclusive)
+     * @return shortest cut, the first one found in case of equal lengths, or null if there is none; the shortest one evaluated
+     *         so far if the checkpoint was reached
+     */
+    private static Cut getShortestCut(RingIndex ring, double singlePartArea, boolean verifyAreas, int fromIndex, int toIndex, SplitScratch scratch,
+            Checkpoint checkpoint) {
+        int segmentCount = ring.size();
+        IndexedEdgePair reusedEdgePair = scratch.edgePair;
+        double[] cuts = scratch.cuts;
+        Cut shortestCut = null;
 
         // for each unique edge pair
-        for (int i = 0; i < segments.size() - 2; i++) {
+        for (int i = fromIndex; i < toIndex; i++) {
 
             // generate unique edge pairs (e.g. 2 pairs for any rectangle)
-            for (int j = i + 2; j < segments.size(); j++) {
-                int segmentsCovered = j - i + 1;            // number of segments covered by a LineRing starting with edgeA and ending with edgeB (including)
-                if (segments.size() == segmentsCovered) {
-                    break;
+            for (int j = i + 2; j < segmentCount && !isClosingRing(i, j, segmentCount); j++) {
+                if (checkpoint.isReached()) {
+                    return shortestCut;
+                }
+                int cutCount = reusedEdgePair.set(ring, i, j).getCuts(ring, i, j, singlePartArea, cuts, verifyAreas);
+                for (int c = 0; c < cutCount; c++) {
+                    // greedy algorithm: take minimum cut length
+                    if (shortestCut == null || IndexedEdgePair.getCutLength(cuts, c) < shortestCut.getLength()) {
+                        shortestCut = IndexedEdgePair.createCut(cuts, c);
+                    }
                 }
+            }
+        }
+        return shortestCut;
+    }
 
-                LineSegment edgeA = segments.get(i);
-                LineSegment edgeB = segments.get(j);
-                EdgePair edgePair = new EdgePair(edgeA, edgeB);
-                EdgePairSubpolygons subpolygons = edgePair.getSubpolygons();
-                List<Cut> cutForCurrentEdgePair = subpolygons.getCuts(polygon, singlePartArea);
-                possibleCuts.addAll(cutForCurrentEdgePair);
+    /**
+     * Evaluates edge pairs in the order of their lower bound, skipping all pairs that can not produce a cut shorter than the best one.<br>
+     * In case of equal lengths, the cut of the pair that comes first in
+     * {@link #getShortestCut(RingIndex, double, boolean, int, int, SplitScratch, Checkpoint)} order is preferred.<br>
+     * The keys of the pairs are sorted one row at a time, checking the checkpoint before every row. If it is reached, no pair is evaluated.
+     *
+     * @return shortest cut, or null if there is none; the shortest one evaluated so far if the checkpoint was reached
+     */
+    private static Cut getShortestCutBestFirst(RingIndex ring, double singlePartArea, boolean verifyAreas, SplitScratch scratch,
+            Checkpoint checkpoint) {
+        PairKeyQueue pairKeys = new PairKeyQueue(ring, scratch.getPairKeys(PairKeyQueue.getKeyCount(ring.size())));
+        for (int row = 0; row < pairKeys.getRowCount(); row++) {
+            if (checkpoint.isReached()) {
+                return null;
             }
+            pairKeys.fillRow(row);
         }
+        pairKeys.addFilledRows();
+        return new BestFirstSearch(ring, singlePartArea, verifyAreas, pairKeys, checkpoint).evaluate(scratch).cut;
+    }
 
-        // greedy algorithm: take minimum cut length
-        Cut shortestCut = possibleCuts.stream().min(Comparator.comparing(Cut::getLength)).get();
-        resultList.add(shortestCut.getCutAway());
+    /**
+     * Evaluates edge pairs in the same way as {@link #getShortestCutBestFirst(RingIndex, double, boolean, SplitScratch, Checkpoint)}, on all
+     * workers of the pool, see {@link BestFirstSearch}.
+     *
+     * @param ring index initialized for concurrent use
+     * @return shortest cut, or null if there is none; the shortest one evaluated so far if the checkpoint was reached
+     */
+    private static Cut getShortestCutBestFirst(RingIndex ring, double singlePartArea, boolean verifyAreas, ForkJoinPool forkJoinPool,
+            Checkpoint checkpoint) {
+        // the scratch of the calling thread is not used, as a worker of the pool may run another split while it waits
+        PairKeyQueue pairKeys = new PairKeyQueue(ring, new long[PairKeyQueue.getKeyCount(ring.size())]);
+        forkJoinPool.invoke(new FillRowsTask(pairKeys, 0, pairKeys.getRowCount(), checkpoint));
+        if (checkpoint.isReached()) {
+            return null;
+        }
+        pairKeys.addFilledRows();
+        BestFirstSearch search = new BestFirstSearch(ring, singlePartArea, verifyAreas, pairKeys, checkpoint);
+        return forkJoinPool.invoke(new BestFirstTask(search, forkJoinPool.getParallelism())).cut;
+    }
 
-        return (Polygon) polygon.difference(shortestCut.getCutAway());
+    /**
+     * Evaluates the edge pairs of a convex ring which may have a cut of the area, in the same way as
+     * {@link #getShortestCutBestFirst(RingIndex, double, boolean, SplitScratch, Checkpoint)} does.<br>
+     * The cut of a pair in the direction from edgeA to edgeB cuts away the polygon between the edges and part of the region bounded by the
+     * edges and the chord from the start of edgeA to the end of edgeB. So the pair may only have the area if the area between the edges is at
+     * most the area to cut away, and the area up to the chord is at least that. In a convex ring both areas grow as edgeB walks away from edgeA
+     * and shrink as edgeA walks towards edgeB, so for every edgeA the candidates for edgeB form a window, whose ends only ever move forward.
+     * The other direction of a pair is the first one with the edges swapped, so edgeA walks around the whole ring.
+     *
+     * @return shortest cut, or null if there is none; the shortest one evaluated so far if the checkpoint was reached
+     */
+    private static Cut getShortestCutConvex(RingIndex ring, double areaToCutAway, boolean verifyAreas, SplitScratch scratch,
+            Checkpoint checkpoint) {
+        int segmentCount = ring.size();
+        double tolerance = ring.getArea() * CONVEX_WINDOW_TOLERANCE;        // the windows may include more pairs, but not miss any
+        long[] pairKeys = scratch.getPairKeys(4 * segmentCount);
+        int pairCount = 0;
+
+        // ends of the window, as indexes of edgeB counted on from edgeA without wrapping around
+        int windowStart = 2;
+        int windowEnd = 1;
+        for (int i = 0; i < segmentCount; i++) {
+            int lastEdgeB = i + segmentCount - 2;                          // edgeB must not be adjacent to edgeA on either side
+            windowStart = Math.max(windowStart, i + 2);
+            while (windowStart <= lastEdgeB && ring.getSubpolygonArea(i, (windowStart + 1) % segmentCount) < areaToCutAway - tolerance) {
+                windowStart++;
+            }
+            windowEnd = Math.max(windowEnd, windowStart - 1);
+            while (windowEnd < lastEdgeB && ring.getSubpolygonArea((i + 1) % segmentCount, (windowEnd + 1) % segmentCount) <= areaToCutAway + tolerance) {
+                windowEnd++;
+            }
+
+            for (int end = windowStart; end <= windowEnd; end++) {
+                if (pairCount == pairKeys.length) {
+                    pairKeys = Arrays.copyOf(pairKeys, pairKeys.length * 2);
+                }
+                int j = end % segmentCount;
+                pairKeys[pairCount++] = PairKeyQueue.getPairKey(ring, Math.min(i, j), Math.max(i, j));
+            }
+        }
+        return new BestFirstSearch(ring, areaToCutAway, verifyAreas, PairKeyQueue.of(ring, pairKeys, pairCount), checkpoint).evaluate(scratch).cut;
+    }
+
+    /**
+     * @return true if the edges are adjacent when going from edgeB to edgeA, i.e. all segments of the ring are covered by the pair
+     */
+    private static boolean isClosingRing(int indexOfEdgeA, int indexOfEdgeB, int segmentCount) {
+        int segmentsCovered = indexOfEdgeB - indexOfEdgeA + 1;            // number of segments covered by a LineRing starting with edgeA and ending with edgeB (including)
+        return segmentsCovered == segmentCount;
+    }
+
+    /**
+     * @return upper estimate of the number of edge pairs having the first edge in the given range
+     */
+    private static int getPairCount(int segmentCount, int fromIndex, int toIndex) {
+        // edgeA at index i is paired with (segmentCount - i - 2) edges at most
+        long pairCount = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            pairCount += segmentCount - i - 2;
+        }
+        return (int) Math.min(pairCount, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the shorter of two cuts, preferring the first one in case of equal lengths
+     */
+    private static Cut getShorter(Cut first, Cut second) {
+        if (first == null) {
+            return second;
+        }
+        return second != null && second.getLength() < first.getLength() ? second : first;
+    }
+
+    /**
+     * Evaluation of the pairs of a {@link PairKeyQueue} in the order of their keys, shared by the workers of a parallel search.<br>
+     * The workers take the keys in batches and share the length of the shortest cut found so far, as the bits of a double, which are ordered
+     * the same way as non-negative values. So every worker stops at the first key whose lower bound exceeds the shortest cut of all of them,
+     * and all pairs which may have a cut of at most that length are evaluated, like in a sequential search.
+     */
+    private static final class BestFirstSearch {
+        private static final long NO_CUT_LENGTH_BITS = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+
+        private final RingIndex ring;
+        private final double singlePartArea;
+        private final boolean verifyAreas;
+        private final PairKeyQueue pairKeys;
+        private final Checkpoint checkpoint;
+        private final AtomicLong shortestLengthBits = new AtomicLong(NO_CUT_LENGTH_BITS);
+
+        BestFirstSearch(RingIndex ring, double singlePartArea, boolean verifyAreas, PairKeyQueue pairKeys, Checkpoint checkpoint) {
+            this.ring = ring;
+            this.singlePartArea = singlePartArea;
+            this.verifyAreas = verifyAreas;
+            this.pairKeys = pairKeys;
+            this.checkpoint = checkpoint;
+        }
+
+        /**
+         * Evaluates batches of pairs until no remaining pair can produce a cut shorter than the ones found by all workers.
+         *
+         * @param scratch working memory of the worker
+         * @return shortest cut found by the worker
+         */
+        ShortestCut evaluate(SplitScratch scratch) {
+            int segmentCount = ring.size();
+            long[] batch = scratch.pairKeyBatch;
+            ShortestCut shortestCut = new ShortestCut();
+
+            int batchSize;
+            while ((batchSize = take(batch)) > 0) {
+                for (int k = 0; k < batchSize; k++) {
+                    if (checkpoint.isReached()) {
+                        return shortestCut;
+                    }
+                    long pairKey = batch[k];
+                    if (PairKeyQueue.getLowerBound(pairKey) > Double.longBitsToDouble(shortestLengthBits.get())) {
+                        return shortestCut;     // keys are taken in order, so none of the remaining ones can produce a shorter cut
+                    }
+
+                    long pairIndex = PairKeyQueue.getPairIndex(pairKey);
+                    int i = (int) (pairIndex / segmentCount);
+                    int j = (int) (pairIndex % segmentCount);
+                    int cutCount = scratch.edgePair.set(ring, i, j).getCuts(ring, i, j, singlePartArea, scratch.cuts, verifyAreas);
+                    for (int c = 0; c < cutCount; c++) {
+                        if (shortestCut.offer(scratch.cuts, c, pairIndex)) {
+                            shortestLengthBits.accumulateAndGet(Double.doubleToLongBits(shortestCut.cut.getLength()), Math::min);
+                        }
+                    }
+                }
+            }
+            return shortestCut;
+        }
+
+        /**
+         * Takes the next keys of the queue.
+         *
+         * @return number of keys written to the batch, 0 if none is left
+         */
+        private synchronized int take(long[] batch) {
+            int batchSize = 0;
+            while (batchSize < batch.length && !pairKeys.isEmpty()) {
+                batch[batchSize++] = pairKeys.poll();
+            }
+            return batchSize;
+        }
+    }
+
+    /**
+     * Shortest cut found by a worker of a {@link BestFirstSearch}, with the index of its pair, which decides among cuts of equal length.
+     */
+    private static final class ShortestCut {
+        private Cut cut;
+        private long pairIndex;
+
+        /**
+         * @return true if the cut is taken, being shorter than the current one, or as long and of a pair that comes first
+         */
+        boolean offer(double[] cuts, int cutNumber, long pairIndexOfCut) {
+            double length = IndexedEdgePair.getCutLength(cuts, cutNumber);
+            if (cut == null || length < cut.getLength() || (length == cut.getLength() && pairIndexOfCut < pairIndex)) {
+                cut = IndexedEdgePair.createCut(cuts, cutNumber);
+                pairIndex = pairIndexOfCut;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return the shorter of both cuts, the one of the pair that comes first in case of equal lengths
+         */
+        ShortestCut getShorter(ShortestCut other) {
+            if (cut == null) {
+                return other;
+            }
+            if (other.cut == null) {
+                return this;
+            }
+            double length = cut.getLength();
+            double otherLength = other.cut.getLength();
+            return otherLength < length || (otherLength == length && other.pairIndex < pairIndex) ? other : this;
+        }
+    }
+
+    /**
+     * Runs the given number of workers of a {@link BestFirstSearch}, by recursively halving the number.
+     */
+    private static class BestFirstTask extends RecursiveTask<ShortestCut> {
+        private static final long serialVersionUID = 1L;
+
+        private final BestFirstSearch search;
+        private final int workerCount;
+
+        BestFirstTask(BestFirstSearch search, int workerCount) {
+            this.search = search;
+            this.workerCount = workerCount;
+        }
+
+        @Override
+        protected ShortestCut compute() {
+            if (workerCount <= 1) {
+                return search.evaluate(new SplitScratch());
+            }
+
+            BestFirstTask second = new BestFirstTask(search, workerCount / 2);
+            second.fork();
+            ShortestCut firstResult = new BestFirstTask(search, workerCount - workerCount / 2).compute();
+            return firstResult.getShorter(second.join());
+        }
+    }
+
+    /**
+     * Fills the rows of pair keys in the given range, by recursively halving the range. The rows are filled until the checkpoint is reached.
+     */
+    private static class FillRowsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int ROW_COUNT_THRESHOLD = 8;         // below this number of rows the range is filled directly
+
+        private final PairKeyQueue pairKeys;
+        private final int fromRow;
+        private final int toRow;
+        private final Checkpoint checkpoint;
+
+        FillRowsTask(PairKeyQueue pairKeys, int fromRow, int toRow, Checkpoint checkpoint) {
+            this.pairKeys = pairKeys;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= ROW_COUNT_THRESHOLD) {
+                for (int row = fromRow; row < toRow && !checkpoint.isReached(); row++) {
+                    pairKeys.fillRow(row);
+                }
+                return;
+            }
+
+            int middleRow = (fromRow + toRow) >>> 1;
+            invokeAll(new FillRowsTask(pairKeys, fromRow, middleRow, checkpoint), new FillRowsTask(pairKeys, middleRow, toRow, checkpoint));
+        }
+    }
+
+    /**
+     * Finds the shortest cut among the edge pairs having the first edge in the given range, by recursively halving the range.
+     */
+    private static class ShortestCutTask extends RecursiveTask<Cut> {
+        private static final long serialVersionUID = 1L;
+        private static final int PAIR_COUNT_THRESHOLD = 256;      // below this number of pairs the range is evaluated directly
+
+        private final RingIndex ring;
+        private final double singlePartArea;
+        private final boolean verifyAreas;
+        private final int fromIndex;
+        private final int toIndex;
+        private final Checkpoint checkpoint;
+
+        ShortestCutTask(RingIndex ring, double singlePartArea, boolean verifyAreas, int fromIndex, int toIndex, Checkpoint checkpoint) {
+            this.ring = ring;
+            this.singlePartArea = singlePartArea;
+            this.verifyAreas = verifyAreas;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        protected Cut compute() {
+            if (toIndex - fromIndex <= 1 || getPairCount(ring.size(), fromIndex, toIndex) <= PAIR_COUNT_THRESHOLD) {
+                return getShortestCut(ring, singlePartArea, verifyAreas, fromIndex, toIndex, new SplitScratch(), checkpoint);
+            }
+
+            int middleIndex = (fromIndex + toIndex) >>> 1;
+            ShortestCutTask second = new ShortestCutTask(ring, singlePartArea, verifyAreas, middleIndex, toIndex, checkpoint);
+            second.fork();
+            Cut firstResult = new ShortestCutTask(ring, singlePartArea, verifyAreas, fromIndex, middleIndex, checkpoint).compute();
+            return getShorter(firstResult, second.join());              // pairs of the first half precede the ones of the second half
+        }
     }
 
 }
@@ -0,0 +1,304 @@
+package de.incentergy.geometry.impl;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.GeometryUtils;
+import de.incentergy.geometry.utils.PrimitiveGeometry;
+
+/**
+ * Index-based version of {@link EdgePair} and {@link EdgePair.EdgePairSubpolygons}, working on the primitive arrays of a {@link RingIndex}.<br>
+ * The geometry of the pair (projected vertices, triangles and trapezoid) is kept in primitive fields, so that one instance can be reused
+ * for all pairs evaluated by a thread. Cuts are written into a caller-provided array instead of being returned as objects,
+ * and JTS polygons are only built for the containment tests of pairs which have the area to cut away.<br>
+ * The produced cuts are the same as the ones of {@link EdgePair.EdgePairSubpolygons#getCuts(RingIndex, double, boolean)}, see {@link PrimitiveGeometry}.
+ */
+final class IndexedEdgePair {
+
+    /**
+     * Number of elements used by a cut in the array passed to {@link #getCuts(RingIndex, int, int, double, double[], boolean)}: x0, y0, x1, y1.
+     */
+    static final int CUT_SIZE = 4;
+
+    /**
+     * Length of the array passed to {@link #getCuts(RingIndex, int, int, double, double[], boolean)}.
+     */
+    static final int MAX_CUTS_SIZE = 2 * CUT_SIZE;
+
+    // edgeA goes from (ax0, ay0) to (ax1, ay1), edgeB from (bx0, by0) to (bx1, by1)
+    private double ax0, ay0, ax1, ay1;
+    private double bx0, by0, bx1, by1;
+
+    // point where the edges would intersect if they were infinite lines (same as GeometryUtils.IntersectionCoordinate),
+    // and the result of the last projection; both are scratch holders reused by each call of set
+    private final Coordinate intersection = new Coordinate();
+    private boolean intersecting;
+    private boolean intersectionOnEdge;
+    private final Coordinate projected = new Coordinate();
+
+    // projected p0 and projected p1, see EdgePair
+    private boolean projected0Valid, projected0OnEdgeA;
+    private double projected0X, projected0Y;
+    private boolean projected1Valid, projected1OnEdgeA;
+    private double projected1X, projected1Y;
+
+    // trapezoid vertices in the same order as in EdgePairSubpolygons
+    private double trapezoidX1, trapezoidY1, trapezoidX2, trapezoidY2, trapezoidX3, trapezoidY3, trapezoidX4, trapezoidY4;
+
+    private double triangle1Area;
+    private double trapezoidArea;
+    private double triangle2Area;
+
+    /**
+     * Computes the geometry of the pair formed by two edges of the ring.
+     *
+     * @return this edge pair
+     */
+    IndexedEdgePair set(RingIndex ring, int indexOfEdgeA, int indexOfEdgeB) {
+        int vertexCount = ring.size();
+        ax0 = ring.getX(indexOfEdgeA);
+        ay0 = ring.getY(indexOfEdgeA);
+        ax1 = ring.getX((indexOfEdgeA + 1) % vertexCount);
+        ay1 = ring.getY((indexOfEdgeA + 1) % vertexCount);
+        bx0 = ring.getX(indexOfEdgeB);
+        by0 = ring.getY(indexOfEdgeB);
+        bx1 = ring.getX((indexOfEdgeB + 1) % vertexCount);
+        by1 = ring.getY((indexOfEdgeB + 1) % vertexCount);
+
+        computeIntersectionPoint();
+
+        // there will be 2 projected points at most
+        projected0OnEdgeA = false;
+        projected0Valid = project(ax1, ay1, bx0, by0, bx1, by1);
+        if (!projected0Valid) {
+            projected0OnEdgeA = true;
+            projected0Valid = project(bx0, by0, ax0, ay0, ax1, ay1);
+        }
+        projected0X = projected.x;
+        projected0Y = projected.y;
+
+        projected1OnEdgeA = true;
+        projected1Valid = project(bx1, by1, ax0, ay0, ax1, ay1);
+        if (!projected1Valid) {
+            projected1OnEdgeA = false;
+            projected1Valid = project(ax0, ay0, bx0, by0, bx1, by1);
+        }
+        projected1X = projected.x;
+        projected1Y = projected.y;
+
+        triangle1Area = projected0Valid ? PrimitiveGeometry.getTriangleArea(ax1, ay1, projected0X, projected0Y, bx0, by0) : 0;
+        triangle2Area = projected1Valid ? PrimitiveGeometry.getTriangleArea(ax0, ay0, projected1X, projected1Y, bx1, by1) : 0;
+
+        boolean projected0OnEdgeB = projected0Valid && !projected0OnEdgeA;
+        boolean projected1OnEdgeB = projected1Valid && !projected1OnEdgeA;
+        trapezoidX1 = projected1Valid && projected1OnEdgeA ? projected1X : ax0;
+        trapezoidY1 = projected1Valid && projected1OnEdgeA ? projected1Y : ay0;
+        trapezoidX2 = projected0Valid && projected0OnEdgeA ? projected0X : ax1;
+        trapezoidY2 = projected0Valid && projected0OnEdgeA ? projected0Y : ay1;
+        trapezoidX3 = projected0OnEdgeB ? projected0X : bx0;
+        trapezoidY3 = projected0OnEdgeB ? projected0Y : by0;
+        trapezoidX4 = projected1OnEdgeB ? projected1X : bx1;
+        trapezoidY4 = projected1OnEdgeB ? projected1Y : by1;
+        trapezoidArea = PrimitiveGeometry.getQuadrilateralArea(trapezoidX1, trapezoidY1, trapezoidX2, trapezoidY2, trapezoidX3, trapezoidY3, trapezoidX4, trapezoidY4);
+        return this;
+    }
+
+    /**
+     * Same as {@link GeometryUtils#getIntersectionPoint(LineSegment, LineSegment)} for edgeA and edgeB.
+     */
+    private void computeIntersectionPoint() {
+        intersecting = PrimitiveGeometry.getIntersectionPoint(ax0, ay0, ax1, ay1, bx0, by0, bx1, by1, intersection);
+        intersectionOnEdge = intersecting && (PrimitiveGeometry.isPointOnSegmentExcludingEndpoints(intersection.x, intersection.y, ax0, ay0, ax1, ay1)
+                || PrimitiveGeometry.isPointOnSegmentExcludingEndpoints(intersection.x, intersection.y, bx0, by0, bx1, by1));
+    }
+
+    /**
+     * Same as {@link GeometryUtils#getProjectedPoint(Coordinate, LineSegment, GeometryUtils.IntersectionCoordinate)},
+     * storing the projected point in {@link #projected}.
+     *
+     * @return true if the vertex has a projection on the opposing edge
+     */
+    private boolean project(double vertexX, double vertexY, double opposingX0, double opposingY0, double opposingX1, double opposingY1) {
+        return PrimitiveGeometry.getProjectedPoint(vertexX, vertexY, opposingX0, opposingY0, opposingX1, opposingY1,
+                intersecting ? intersection : null, intersectionOnEdge, projected);
+    }
+
+    double getTotalArea() {
+        return triangle1Area + trapezoidArea + triangle2Area;
+    }
+
+    /**
+     * Produces the possible cuts of the pair, see {@link EdgePair.EdgePairSubpolygons#getCuts(RingIndex, double, boolean)}.
+     *
+     * @param ring index of the exterior ring, in which the pair was {@link #set(RingIndex, int, int) set} (or which has the same edges)
+     * @param indexOfEdgeA index of the first edge in the ring
+     * @param indexOfEdgeB index of the second edge in the ring
+     * @param singlePartArea area to cut away
+     * @param cuts array of {@link #MAX_CUTS_SIZE} elements, receiving the coordinates of the cuts
+     * @param verifyAreas true to check that the subpolygons of a pair having the area to cut away make up the polygon, see {@link Verification#FULL}
+     * @return number of cuts written to the array: 0, 1 or 2
+     * @throws IllegalStateException if the areas are verified and do not match
+     */
+    int getCuts(RingIndex ring, int indexOfEdgeA, int indexOfEdgeB, double singlePartArea, double[] cuts, boolean verifyAreas) {
+        int segmentCountBetweenEdgePair = ring.getSegmentCountBetween(indexOfEdgeA, indexOfEdgeB);
+        int segmentCountOutsideEdgePair = ring.getSegmentCountOutside(indexOfEdgeA, indexOfEdgeB);
+
+        double areaOutside1 = segmentCountBetweenEdgePair > 1 ? ring.getSubpolygonArea(indexOfEdgeA + 1, indexOfEdgeB) : 0;
+        double areaOutside2 = segmentCountOutsideEdgePair > 1 ? ring.getSubpolygonArea((indexOfEdgeB + 1) % ring.size(), indexOfEdgeA) : 0;
+
+        // short circuit for when neither direction has the area to cut away - no geometry needs to be built or tested then
+        double totalArea = getTotalArea();
+        boolean firstDirectionPossible = areaOutside1 <= singlePartArea && areaOutside1 + totalArea >= singlePartArea;
+        boolean secondDirectionPossible = areaOutside2 <= singlePartArea && areaOutside2 + totalArea >= singlePartArea;
+        if (!firstDirectionPossible && !secondDirectionPossible) {
+            return 0;
+        }
+
+        // sanity-check, see EdgePair.EdgePairSubpolygons
+        if (!ring.contains(createTrapezoid()) || (projected0Valid && !ring.contains(createTriangle1())) || (projected1Valid && !ring.contains(createTriangle2()))) {
+            return 0;
+        }
+        if (segmentCountBetweenEdgePair > 1) {
+            Polygon polygonOutside1 = ring.getSubpolygon(indexOfEdgeA + 1, indexOfEdgeB);
+            if (!ring.contains(polygonOutside1)) {
+                return 0;
+            }
+            areaOutside1 = polygonOutside1.getArea();
+        }
+        if (segmentCountOutsideEdgePair > 1) {
+            Polygon polygonOutside2 = ring.getSubpolygon((indexOfEdgeB + 1) % ring.size(), indexOfEdgeA);
+            if (!ring.contains(polygonOutside2)) {
+                return 0;
+            }
+            areaOutside2 = polygonOutside2.getArea();
+        }
+
+        int cutCount = 0;
+
+        // check first direction (areaOutside1 + T1 + Trapezoid + T2), line of cut goes from edgeA to edgeB
+        if (areaOutside1 <= singlePartArea) {
+            if (areaOutside1 + triangle1Area > singlePartArea) {
+                // produce a cut in Triangle1
+                double fraction = (singlePartArea - areaOutside1) / triangle1Area;
+                if (projected0OnEdgeA) {
+                    cutCount = addCut(ring, cuts, cutCount, pointAlongX(ax1, projected0X, fraction), pointAlongY(ay1, projected0Y, fraction), bx0, by0);
+                } else {
+                    cutCount = addCut(ring, cuts, cutCount, ax1, ay1, pointAlongX(bx0, projected0X, fraction), pointAlongY(by0, projected0Y, fraction));
+                }
+
+            } else if (areaOutside1 + triangle1Area + trapezoidArea >= singlePartArea) {
+                // produce a cut in Trapezoid, from the reversed trapezoid edge on edgeA to the trapezoid edge on edgeB
+                double fraction = (singlePartArea - (areaOutside1 + triangle1Area)) / trapezoidArea;
+                cutCount = addCut(ring, cuts, cutCount,
+                        pointAlongX(trapezoidX2, trapezoidX1, fraction), pointAlongY(trapezoidY2, trapezoidY1, fraction),
+                        pointAlongX(trapezoidX3, trapezoidX4, fraction), pointAlongY(trapezoidY3, trapezoidY4, fraction));
+
+            } else if (areaOutside1 + totalArea >= singlePartArea) {
+                // produce a cut in Triangle2
+                double fraction = (singlePartArea - (areaOutside1 + triangle1Area + trapezoidArea)) / triangle2Area;
+                if (projected1OnEdgeA) {
+                    cutCount = addCut(ring, cuts, cutCount, pointAlongX(projected1X, ax0, fraction), pointAlongY(projected1Y, ay0, fraction), bx1, by1);
+                } else {
+                    cutCount = addCut(ring, cuts, cutCount, ax0, ay0, pointAlongX(projected1X, bx1, fraction), pointAlongY(projected1Y, by1, fraction));
+                }
+            }
+        }
+
+        // check another direction (areaOutside2 + T2 + Trapezoid + T1), line of cut goes from edgeB to edgeA
+        if (areaOutside2 <= singlePartArea) {
+            if (areaOutside2 + triangle2Area > singlePartArea) {
+                // produce a cut in Triangle2
+                double fraction = (singlePartArea - areaOutside2) / triangle2Area;
+                if (projected1OnEdgeA) {
+                    cutCount = addCut(ring, cuts, cutCount, bx1, by1, pointAlongX(ax0, projected1X, fraction), pointAlongY(ay0, projected1Y, fraction));
+                } else {
+                    cutCount = addCut(ring, cuts, cutCount, pointAlongX(bx1, projected1X, fraction), pointAlongY(by1, projected1Y, fraction), ax0, ay0);
+                }
+
+            } else if (areaOutside2 + triangle2Area + trapezoidArea >= singlePartArea) {
+                // produce a cut in Trapezoid, from the reversed trapezoid edge on edgeB to the trapezoid edge on edgeA
+                double fraction = (singlePartArea - (areaOutside2 + triangle2Area)) / trapezoidArea;
+                cutCount = addCut(ring, cuts, cutCount,
+                        pointAlongX(trapezoidX4, trapezoidX3, fraction), pointAlongY(trapezoidY4, trapezoidY3, fraction),
+                        pointAlongX(trapezoidX1, trapezoidX2, fraction), pointAlongY(trapezoidY1, trapezoidY2, fraction));
+
+            } else if (areaOutside2 + totalArea >= singlePartArea) {
+                // produce a cut in Triangle1
+                double fraction = (singlePartArea - (areaOutside2 + triangle2Area + trapezoidArea)) / triangle1Area;
+                if (projected0OnEdgeA) {
+                    cutCount = addCut(ring, cuts, cutCount, bx0, by0, pointAlongX(projected0X, ax1, fraction), pointAlongY(projected0Y, ay1, fraction));
+                } else {
+                    cutCount = addCut(ring, cuts, cutCount, pointAlongX(projected0X, bx0, fraction), pointAlongY(projected0Y, by0, fraction), ax1, ay1);
+                }
+            }
+        }
+
+        if (verifyAreas && !GeometryUtils.equalWithinDelta(areaOutside1 + areaOutside2 + totalArea, ring.getArea())) {
+            throw new IllegalStateException("Subpolygons of " + this + " do not make up the polygon");
+        }
+
+        return cutCount;
+    }
+
+    /**
+     * Adds the line of cut if it does not intersect the exterior ring of the polygon.
+     *
+     * @return the new number of cuts
+     */
+    private static int addCut(RingIndex ring, double[] cuts, int cutCount, double x0, double y0, double x1, double y1) {
+        if (ring.isIntersecting(x0, y0, x1, y1)) {
+            return cutCount;
+        }
+        int offset = cutCount * CUT_SIZE;
+        cuts[offset] = x0;
+        cuts[offset + 1] = y0;
+        cuts[offset + 2] = x1;
+        cuts[offset + 3] = y1;
+        return cutCount + 1;
+    }
+
+    // same as LineSegment#pointAlong for the segment going from (x0, y0) to (x1, y1)
+    private static double pointAlongX(double x0, double x1, double fraction) {
+        return x0 + fraction * (x1 - x0);
+    }
+
+    private static double pointAlongY(double y0, double y1, double fraction) {
+        return y0 + fraction * (y1 - y0);
+    }
+
+    /**
+     * @return length of the cut with the given number, same as {@link Cut#getLength()}
+     */
+    static double getCutLength(double[] cuts, int cutNumber) {
+        int offset = cutNumber * CUT_SIZE;
+        return PrimitiveGeometry.distance(cuts[offset], cuts[offset + 1], cuts[offset + 2], cuts[offset + 3]);
+    }
+
+    /**
+     * @return the cut with the given number
+     */
+    static Cut createCut(double[] cuts, int cutNumber) {
+        int offset = cutNumber * CUT_SIZE;
+        return new Cut(new LineSegment(cuts[offset], cuts[offset + 1], cuts[offset + 2], cuts[offset + 3]));
+    }
+
+    private Polygon createTriangle1() {
+        return GeometryFactoryUtils.createTriangle(new Coordinate(ax1, ay1), new Coordinate(projected0X, projected0Y), new Coordinate(bx0, by0));
+    }
+
+    private Polygon createTriangle2() {
+        return GeometryFactoryUtils.createTriangle(new Coordinate(ax0, ay0), new Coordinate(projected1X, projected1Y), new Coordinate(bx1, by1));
+    }
+
+    private Polygon createTrapezoid() {
+        return GeometryFactoryUtils.createPolygon(new Coordinate(trapezoidX1, trapezoidY1), new Coordinate(trapezoidX2, trapezoidY2),
+                new Coordinate(trapezoidX3, trapezoidY3), new Coordinate(trapezoidX4, trapezoidY4));
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedEdgePair [edgeA=(" + ax0 + " " + ay0 + ", " + ax1 + " " + ay1 + "), edgeB=(" + bx0 + " " + by0 + ", " + bx1 + " " + by1 + ")]";
+    }
+}
@@ -0,0 +1,290 @@
+package de.incentergy.geometry.impl;
+
+import java.util.Arrays;
+
+/**
+ * Keys of the edge pairs of a ring, polled in ascending order, see {@link #getPairKey(RingIndex, int, int)}.<br>
+ * The keys are produced one row at a time, a row being the pairs of one edgeA. Every row is sorted on its own, and the rows are merged
+ * lazily by a heap of their smallest keys, so that producing the keys takes many short steps instead of one sort of all of them, and only
+ * the keys which are polled are merged. Rows may be filled concurrently, everything else is not safe for concurrent use.<br>
+ * To hold at most {@link #MAX_KEY_COUNT} keys at once, a row holds a chunk of its smallest keys only, and when all of them are polled,
+ * the keys of the row are produced again to take the next chunk. The chunks of rings of up to ~1000 segments hold their whole rows.
+ */
+final class PairKeyQueue {
+
+    /** largest number of segments of a ring whose pairs have keys, the index of a pair must fit into the low 32 bits of its key */
+    static final int MAX_SEGMENT_COUNT = 1 << 16;
+    /** largest number of keys held at once, 8 MB */
+    static final int MAX_KEY_COUNT = 1 << 20;
+
+    private static final double LOWER_BOUND_TOLERANCE = 1e-9;
+
+    private final RingIndex ring;
+    private final long[] keys;
+    private final int[] rowStarts;          // position of the chunk of every row, followed by the end of the last chunk
+    private final int[] rowEnds;            // end of the keys in the chunk of every row
+    private final int[] rowPositions;       // position of the next key of every row which is not in the heap
+    private final int[] remainingCounts;    // number of keys of every row which are larger than the ones in its chunk
+    private final boolean[] filledRows;
+    private final long[] heap;              // smallest key not polled yet of every row having one, as a binary heap
+    private int heapSize;
+
+    /**
+     * Creates a queue of all pairs of the ring, with no row filled yet.
+     *
+     * @param ring ring of at most {@link #MAX_SEGMENT_COUNT} segments
+     * @param keys array receiving the keys, at least {@link #getKeyCount(int)} long
+     */
+    PairKeyQueue(RingIndex ring, long[] keys) {
+        this(ring, keys, getChunkLength(ring.size()));
+    }
+
+    /**
+     * @param keys array receiving the keys, at least {@link #getKeyCount(int, int)} long
+     * @param chunkLength largest number of keys of a row held at once
+     */
+    PairKeyQueue(RingIndex ring, long[] keys, int chunkLength) {
+        this(ring, keys, getRowStarts(ring.size(), chunkLength));
+    }
+
+    private PairKeyQueue(RingIndex ring, long[] keys, int[] rowStarts) {
+        this.ring = ring;
+        this.keys = keys;
+        this.rowStarts = rowStarts;
+        int rowCount = rowStarts.length - 1;
+        this.rowEnds = new int[rowCount];
+        this.rowPositions = new int[rowCount];
+        this.remainingCounts = new int[rowCount];
+        this.filledRows = new boolean[rowCount];
+        this.heap = new long[rowCount];
+    }
+
+    /**
+     * Creates a queue of the given keys, sorted at once and without repeated keys.
+     *
+     * @param keys keys of some of the pairs of the ring, in any order and possibly repeated
+     * @param keyCount number of keys in the array
+     */
+    static PairKeyQueue of(RingIndex ring, long[] keys, int keyCount) {
+        Arrays.sort(keys, 0, keyCount);
+        int uniqueKeyCount = 0;
+        for (int k = 0; k < keyCount; k++) {
+            if (k == 0 || keys[k] != keys[k - 1]) {
+                keys[uniqueKeyCount++] = keys[k];
+            }
+        }
+        PairKeyQueue queue = new PairKeyQueue(ring, keys, new int[] { 0, uniqueKeyCount });
+        queue.rowEnds[0] = uniqueKeyCount;
+        queue.filledRows[0] = true;
+        queue.addFilledRows();
+        return queue;
+    }
+
+    /**
+     * @return number of keys held at once by the queue of a ring, at most {@link #MAX_KEY_COUNT}
+     */
+    static int getKeyCount(int segmentCount) {
+        return getKeyCount(segmentCount, getChunkLength(segmentCount));
+    }
+
+    /**
+     * @return number of keys held at once by the queue of a ring whose rows hold chunks of the given length
+     */
+    static int getKeyCount(int segmentCount, int chunkLength) {
+        return getRowStarts(segmentCount, chunkLength)[Math.max(0, segmentCount - 2)];
+    }
+
+    private static int getChunkLength(int segmentCount) {
+        return Math.max(1, MAX_KEY_COUNT / Math.max(1, segmentCount - 2));
+    }
+
+    private static int[] getRowStarts(int segmentCount, int chunkLength) {
+        int rowCount = Math.max(0, segmentCount - 2);
+        int[] rowStarts = new int[rowCount + 1];
+        for (int row = 0; row < rowCount; row++) {
+            int rowLength = getLastEdgeB(row, segmentCount) - (row + 2) + 1;
+            rowStarts[row + 1] = rowStarts[row] + Math.min(rowLength, chunkLength);
+        }
+        return rowStarts;
+    }
+
+    /**
+     * @return index of the last edgeB paired with the edgeA, which is not adjacent to it on either side
+     */
+    private static int getLastEdgeB(int indexOfEdgeA, int segmentCount) {
+        return indexOfEdgeA == 0 ? segmentCount - 2 : segmentCount - 1;
+    }
+
+    /**
+     * @return number of rows, i.e. of edges paired with a later edge
+     */
+    int getRowCount() {
+        return filledRows.length;
+    }
+
+    /**
+     * Produces the keys of the row and sorts the chunk of its smallest ones. Distinct rows may be filled concurrently.
+     */
+    void fillRow(int row) {
+        fillChunk(row, -1);             // the bits of a non-negative lower bound make every key non-negative
+        filledRows[row] = true;
+    }
+
+    /**
+     * Fills the chunk of the row with its smallest keys which are larger than the given one. While the chunk is not full, the keys are
+     * appended, then it is turned into a heap of the largest key, which is replaced by every smaller key.
+     */
+    private void fillChunk(int row, long previousKey) {
+        int segmentCount = ring.size();
+        int start = rowStarts[row];
+        int chunkLength = rowStarts[row + 1] - start;
+        int keyCount = 0;
+        int largerKeyCount = 0;
+        for (int j = row + 2; j <= getLastEdgeB(row, segmentCount); j++) {
+            long key = getPairKey(ring, row, j);
+            if (key <= previousKey) {
+                continue;
+            }
+            largerKeyCount++;
+            if (keyCount < chunkLength) {
+                keys[start + keyCount++] = key;
+                if (keyCount == chunkLength) {
+                    for (int position = chunkLength / 2 - 1; position >= 0; position--) {
+                        siftDownLargest(start, chunkLength, position, keys[start + position]);
+                    }
+                }
+            } else if (key < keys[start]) {
+                siftDownLargest(start, chunkLength, 0, key);
+            }
+        }
+        Arrays.sort(keys, start, start + keyCount);
+        rowEnds[row] = start + keyCount;
+        rowPositions[row] = start;
+        remainingCounts[row] = largerKeyCount - keyCount;
+    }
+
+    /**
+     * Puts the key at the given position of a heap of the largest key within the chunk and moves it down to its place.
+     */
+    private void siftDownLargest(int start, int chunkLength, int position, long key) {
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= chunkLength) {
+                break;
+            }
+            if (child + 1 < chunkLength && keys[start + child + 1] > keys[start + child]) {
+                child++;
+            }
+            if (keys[start + child] <= key) {
+                break;
+            }
+            keys[start + position] = keys[start + child];
+            position = child;
+        }
+        keys[start + position] = key;
+    }
+
+    /**
+     * Merges all filled rows into the queue. Called once, after the rows have been filled.
+     */
+    void addFilledRows() {
+        for (int row = 0; row < filledRows.length; row++) {
+            if (filledRows[row]) {
+                push(row);
+            }
+        }
+    }
+
+    /**
+     * @return true if no key of the merged rows is left
+     */
+    boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    /**
+     * @return smallest key of the merged rows, which is removed
+     */
+    long poll() {
+        long key = heap[0];
+        int row = filledRows.length == 1 ? 0 : (int) (getPairIndex(key) / ring.size());
+        if (rowPositions[row] == rowEnds[row] && remainingCounts[row] > 0) {
+            fillChunk(row, key);        // the polled key is the largest one of the chunk
+        }
+        if (rowPositions[row] < rowEnds[row]) {
+            siftDown(keys[rowPositions[row]++]);
+        } else if (--heapSize > 0) {
+            siftDown(heap[heapSize]);
+        }
+        return key;
+    }
+
+    private void push(int row) {
+        int start = rowPositions[row];
+        if (start == rowEnds[row]) {
+            return;
+        }
+        rowPositions[row] = start + 1;
+        int position = heapSize++;
+        long key = keys[start];
+        while (position > 0 && heap[(position - 1) >>> 1] > key) {
+            heap[position] = heap[(position - 1) >>> 1];
+            position = (position - 1) >>> 1;
+        }
+        heap[position] = key;
+    }
+
+    /**
+     * Puts the key in the place of the smallest one and moves it down to its place in the heap.
+     */
+    private void siftDown(long key) {
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= key) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = key;
+    }
+
+    /**
+     * Produces the key of an edge pair, which has the lower bound of a cut between the edges in its high 32 bits (as a float rounded down)
+     * and the index of the pair ({@code i * segmentCount + j}) in its low 32 bits, which limits the ring to {@link #MAX_SEGMENT_COUNT}
+     * segments.<br>
+     * The bits of non-negative floats are ordered the same way as their values, so sorting the keys orders the pairs by lower bound and then by index.
+     */
+    static long getPairKey(RingIndex ring, int indexOfEdgeA, int indexOfEdgeB) {
+        float lowerBound = getLowerBound(ring.getSegment(indexOfEdgeA).distance(ring.getSegment(indexOfEdgeB)));
+        return ((long) Float.floatToIntBits(lowerBound) << 32) | ((long) indexOfEdgeA * ring.size() + indexOfEdgeB);
+    }
+
+    /**
+     * @return lower bound of the length of a cut of the pair
+     */
+    static float getLowerBound(long pairKey) {
+        return Float.intBitsToFloat((int) (pairKey >>> 32));
+    }
+
+    /**
+     * @return index of the pair, {@code i * segmentCount + j}
+     */
+    static long getPairIndex(long pairKey) {
+        return pairKey & 0xFFFFFFFFL;
+    }
+
+    private static float getLowerBound(double distanceBetweenEdges) {
+        // the points of cut are computed, so allow for rounding errors before rounding down to float
+        double distance = distanceBetweenEdges * (1 - LOWER_BOUND_TOLERANCE);
+        float lowerBound = (float) distance;
+        return lowerBound > distance ? Math.nextDown(lowerBound) : lowerBound;
+    }
+}
@@ -0,0 +1,120 @@
+package de.incentergy.geometry.impl;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.vividsolutions.jts.algorithm.RayCrossingCounter;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.Location;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.GeometryUtils;
+
+/**
+ * Checks that the parts produced by a split make up the original polygon, see {@link Verification}.
+ */
+final class PartsVerifier {
+
+    private static final int SAMPLE_COUNT = 256;
+    private static final long SAMPLE_SEED = 0x5EEDL;               // fixed, so that a verification failure can be reproduced
+
+    private PartsVerifier() {
+    }
+
+    /**
+     * @throws IllegalStateException if the parts do not pass the verification of the given level
+     */
+    static void verify(Polygon originalPolygon, List<Polygon> parts, Verification verification) {
+        if (verification == Verification.NONE) {
+            return;
+        }
+
+        verifyAreaAndVertices(originalPolygon, parts);
+        if (verification.compareTo(Verification.SAMPLED) >= 0) {
+            verifySamples(originalPolygon, parts);
+        }
+        if (verification == Verification.FULL) {
+            verifyUnion(originalPolygon, parts);
+        }
+    }
+
+    private static void verifyAreaAndVertices(Polygon originalPolygon, List<Polygon> parts) {
+        double totalAreaOfTheParts = parts.stream().mapToDouble(Polygon::getArea).sum();
+        if (!GeometryUtils.equalWithinDelta(totalAreaOfTheParts, originalPolygon.getArea())) {
+            throw new IllegalStateException("Area of the parts does not match original area");
+        }
+
+        Set<Coordinate> verticesOfTheParts = new HashSet<>();
+        for (Polygon part : parts) {
+            CoordinateSequence ring = part.getExteriorRing().getCoordinateSequence();
+            for (int i = 0; i < ring.size(); i++) {
+                verticesOfTheParts.add(ring.getCoordinate(i));
+            }
+        }
+        for (Coordinate vertex : originalPolygon.getExteriorRing().getCoordinates()) {
+            if (!verticesOfTheParts.contains(vertex)) {
+                throw new IllegalStateException("Vertex " + vertex + " of the original polygon is not part of any part");
+            }
+        }
+    }
+
+    private static void verifySamples(Polygon originalPolygon, List<Polygon> parts) {
+        Envelope envelope = originalPolygon.getEnvelopeInternal();
+        Random random = new Random(SAMPLE_SEED);
+        Coordinate sample = new Coordinate();
+
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            sample.x = envelope.getMinX() + random.nextDouble() * envelope.getWidth();
+            sample.y = envelope.getMinY() + random.nextDouble() * envelope.getHeight();
+            int expectedPartCount = locate(sample, originalPolygon);
+            int partCount = expectedPartCount >= 0 ? countPartsContaining(sample, parts) : -1;
+            if (partCount < 0) {
+                continue;               // points on a boundary can not be attributed to a single part
+            }
+            if (partCount != expectedPartCount) {
+                throw new IllegalStateException("Point " + sample + " is in " + partCount + " parts, but expected in " + expectedPartCount);
+            }
+        }
+    }
+
+    /**
+     * @return number of parts having the point in their interior, or -1 if the point is on the boundary of a part
+     */
+    private static int countPartsContaining(Coordinate point, List<Polygon> parts) {
+        int partCount = 0;
+        for (Polygon part : parts) {
+            int location = locate(point, part);
+            if (location < 0) {
+                return -1;
+            }
+            partCount += location;
+        }
+        return partCount;
+    }
+
+    /**
+     * @return 1 if the point is in the interior of the polygon, 0 if it is outside of it, -1 if it is on its boundary
+     */
+    private static int locate(Coordinate point, Polygon polygon) {
+        int location = RayCrossingCounter.locatePointInRing(point, polygon.getExteriorRing().getCoordinateSequence());
+        if (location == Location.BOUNDARY) {
+            return -1;
+        }
+        return location == Location.INTERIOR ? 1 : 0;
+    }
+
+    private static void verifyUnion(Polygon originalPolygon, List<Polygon> parts) {
+        // the union may have slivers where points of cut are rounded, so its difference to the original is compared by area
+        Geometry unionOfTheParts = GeometryFactoryUtils.createGeometryCollection(parts).union();
+        double differenceArea = unionOfTheParts.symDifference(originalPolygon).getArea();
+        if (!GeometryUtils.equalWithinDelta(differenceArea, 0)) {
+            throw new IllegalStateException("The sum of the parts is not equal to the original polygon");
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package de.incentergy.geometry.impl;
+
+import java.util.Arrays;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+
+/**
+ * Exterior ring of a polygon whose edges are all parallel to the axes, e.g. a building footprint or a parcel of a grid.<br>
+ * Only cuts parallel to the axes are considered. The ring is decomposed into slabs between the distinct vertex coordinates along each axis;
+ * a line parallel to the other axis crosses the polygon in the same length anywhere within a slab, so prefix sums over the slabs give the
+ * area on either side of any such line in logarithmic time, and the position of the cut of a given area is solved for directly.
+ * Building the prefix sums takes O(n log n) for n vertices, finding a cut and its length O(n).
+ */
+final class RectilinearRing {
+
+    private final Polygon polygon;
+    private final Coordinate[] ring;
+    private final Axis alongX;
+    private final Axis alongY;
+
+    RectilinearRing(Polygon polygon) {
+        this.polygon = polygon;
+        this.ring = polygon.getExteriorRing().getCoordinates();
+        this.alongX = new Axis(true);
+        this.alongY = new Axis(false);
+    }
+
+    /**
+     * @param ring closed ring of coordinates
+     * @return true if every edge of the ring is parallel to one of the axes
+     */
+    static boolean isRectilinear(Coordinate[] ring) {
+        for (int i = 0; i < ring.length - 1; i++) {
+            if (ring[i].x != ring[i + 1].x && ring[i].y != ring[i + 1].y) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cuts the given area away from the polygon by the shortest cut parallel to one of the axes.<br>
+     * The area is cut away from either end of either axis, at the position where the line of cut crosses the polygon in a single line.
+     * In case of equal lengths, cuts parallel to the x axis are preferred, and cuts at the upper end of an axis, which mostly agrees with the order
+     * of the edge pairs.
+     *
+     * @param areaToCutAway area of the first returned polygon
+     * @return the part cut away and the remainder of the polygon, or null if none of the lines of the area crosses the polygon in a single line
+     */
+    Polygon[] cut(double areaToCutAway) {
+        Axis shortestAxis = null;
+        double shortestPosition = 0;
+        double[] shortestCut = null;
+        boolean cutAwayIsBelow = false;
+        for (Axis axis : new Axis[] { alongY, alongX }) {
+            for (boolean isBelow : new boolean[] { false, true }) {
+                double position = axis.getPosition(isBelow ? areaToCutAway : axis.getArea() - areaToCutAway);
+                double[] cut = Double.isNaN(position) ? null : axis.getLineOfCut(position);
+                if (cut != null && (shortestCut == null || cut[1] - cut[0] < shortestCut[1] - shortestCut[0])) {
+                    shortestAxis = axis;
+                    shortestPosition = position;
+                    shortestCut = cut;
+                    cutAwayIsBelow = isBelow;
+                }
+            }
+        }
+        if (shortestCut == null) {
+            return null;
+        }
+
+        Coordinate start = shortestAxis.getPoint(shortestPosition, shortestCut[0]);
+        Coordinate end = shortestAxis.getPoint(shortestPosition, shortestCut[1]);
+        Polygon[] pieces = GeometryFactoryUtils.splitPolygon(polygon, start, end);
+        boolean firstIsBelow = shortestAxis.getCoordinate(pieces[0].getCentroid().getCoordinate()) < shortestPosition;
+        return firstIsBelow == cutAwayIsBelow ? pieces : new Polygon[] { pieces[1], pieces[0] };
+    }
+
+    /**
+     * Slabs of the polygon between its distinct vertex coordinates along one axis, which is the axis the cuts are perpendicular to.
+     */
+    private final class Axis {
+        private final boolean isX;
+        /** distinct vertex coordinates along the axis, in ascending order */
+        private final double[] positions;
+        /** element k holds the area of the slabs 0..k-1 */
+        private final double[] areaPrefixSums;
+        /** element k holds the length of the lines of slab k, i.e. how fast the area grows within it */
+        private final double[] lengths;
+
+        Axis(boolean isX) {
+            this.isX = isX;
+            int vertexCount = ring.length - 1;
+            double[] sorted = new double[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                sorted[i] = getCoordinate(ring[i]);
+            }
+            Arrays.sort(sorted);
+            int positionCount = 0;
+            for (int i = 0; i < vertexCount; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[positionCount++] = sorted[i];
+                }
+            }
+            this.positions = Arrays.copyOf(sorted, positionCount);
+
+            // every edge along the axis adds its offset to the lengths of the slabs it spans if the polygon is on one side of it, and
+            // subtracts it if the polygon is on the other side; offsets are relative to the first vertex to keep them small and precise
+            double origin = getOffset(ring[0]);
+            double[] lengthChanges = new double[positionCount];
+            for (int i = 0; i < vertexCount; i++) {
+                double from = getCoordinate(ring[i]);
+                double to = getCoordinate(ring[i + 1]);
+                if (from == to) {
+                    continue;
+                }
+                double offset = getOffset(ring[i]) - origin;
+                double signedOffset = from < to == isX ? -offset : offset;
+                lengthChanges[Arrays.binarySearch(positions, Math.min(from, to))] += signedOffset;
+                lengthChanges[Arrays.binarySearch(positions, Math.max(from, to))] -= signedOffset;
+            }
+
+            this.lengths = new double[Math.max(positionCount - 1, 0)];
+            this.areaPrefixSums = new double[positionCount];
+            double length = 0;
+            for (int k = 0; k < lengths.length; k++) {
+                length += lengthChanges[k];
+                lengths[k] = length;
+                areaPrefixSums[k + 1] = areaPrefixSums[k] + length * (positions[k + 1] - positions[k]);
+            }
+            // the lengths are negative for a clockwise ring
+            if (positionCount > 0 && areaPrefixSums[positionCount - 1] < 0) {
+                for (int k = 0; k < lengths.length; k++) {
+                    lengths[k] = -lengths[k];
+                }
+                for (int k = 0; k < positionCount; k++) {
+                    areaPrefixSums[k] = -areaPrefixSums[k];
+                }
+            }
+        }
+
+        double getArea() {
+            return areaPrefixSums[areaPrefixSums.length - 1];
+        }
+
+        /**
+         * @param area area below the line of cut
+         * @return position of the line of cut along the axis, or NaN if it would not be inside of the polygon
+         */
+        double getPosition(double area) {
+            if (!(area > 0 && area < getArea())) {
+                return Double.NaN;
+            }
+            // first slab reaching the area
+            int low = 0;
+            int high = lengths.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (areaPrefixSums[middle + 1] < area) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            double position = positions[low] + (area - areaPrefixSums[low]) / lengths[low];
+            return Math.min(Math.max(position, positions[low]), positions[low + 1]);
+        }
+
+        /**
+         * The line at a vertex coordinate may run along edges of the ring, which are not part of the cut; the cut is where the polygon is on
+         * both sides of the line.
+         *
+         * @param position position of the line along the axis
+         * @return offsets of the start and the end of the line of cut across the axis, or null if the line does not cross the polygon in a
+         *         single line
+         */
+        double[] getLineOfCut(double position) {
+            int crossingsBelow = 0;
+            int crossingsAbove = 0;
+            double startBelow = Double.POSITIVE_INFINITY;
+            double endBelow = Double.NEGATIVE_INFINITY;
+            double startAbove = Double.POSITIVE_INFINITY;
+            double endAbove = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < ring.length - 1; i++) {
+                double from = Math.min(getCoordinate(ring[i]), getCoordinate(ring[i + 1]));
+                double to = Math.max(getCoordinate(ring[i]), getCoordinate(ring[i + 1]));
+                double offset = getOffset(ring[i]);
+                if (from < position && position <= to) {
+                    crossingsBelow++;
+                    startBelow = Math.min(startBelow, offset);
+                    endBelow = Math.max(endBelow, offset);
+                }
+                if (from <= position && position < to) {
+                    crossingsAbove++;
+                    startAbove = Math.min(startAbove, offset);
+                    endAbove = Math.max(endAbove, offset);
+                }
+            }
+            double start = Math.max(startBelow, startAbove);
+            double end = Math.min(endBelow, endAbove);
+            return crossingsBelow == 2 && crossingsAbove == 2 && start < end ? new double[] { start, end } : null;
+        }
+
+        /**
+         * @return coordinate of the point along this axis
+         */
+        double getCoordinate(Coordinate point) {
+            return isX ? point.x : point.y;
+        }
+
+        /**
+         * @return coordinate of the point across this axis
+         */
+        double getOffset(Coordinate point) {
+            return isX ? point.y : point.x;
+        }
+
+        Coordinate getPoint(double position, double offset) {
+            return isX ? new Coordinate(position, offset) : new Coordinate(offset, position);
+        }
+    }
+}
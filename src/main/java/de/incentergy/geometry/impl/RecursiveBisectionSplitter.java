@@ -0,0 +1,187 @@
+package de.incentergy.geometry.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.BudgetedSplit;
+import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.PolygonValidator;
+
+/**
+ * {@link PolygonSplitter} implementation which bisects the polygon instead of cutting the parts away one by one.<br>
+ * A polygon of k parts is cut by the shortest cut into two pieces of ⌊k/2⌋ and ⌈k/2⌉ parts, which are split the same way in parallel.
+ * A piece without such a cut gets a midpoint on every edge, and if that does not help either, it is divided less evenly.
+ * The cuts are found by a {@link GreedyPolygonSplitter}, so k parts take k - 1 cuts as well, but the longest chain of cuts depending on each
+ * other is log k long, and every cut is searched on a smaller polygon than the remainders of the greedy algorithm.<br>
+ * The parts are not the same as those of the greedy algorithm, whose cuts only depend on the area of a single part.
+ */
+public class RecursiveBisectionSplitter implements PolygonSplitter {
+
+    private final GreedyPolygonSplitter splitter;
+    private final ThreadLocal<SplitScratch> scratch = ThreadLocal.withInitial(SplitScratch::new);
+    private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+    public RecursiveBisectionSplitter() {
+        this(new GreedyPolygonSplitter());
+    }
+
+    /**
+     * @param splitter splitter to find every cut with, configured as required; its verification applies to the parts of the whole split
+     */
+    public RecursiveBisectionSplitter(GreedyPolygonSplitter splitter) {
+        this.splitter = Objects.requireNonNull(splitter, "Splitter is required");
+    }
+
+    /**
+     * Sets the pool the pieces are split on, the common pool by default.
+     *
+     * @param forkJoinPool pool to split the pieces on
+     * @return this splitter
+     */
+    public RecursiveBisectionSplitter withForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = Objects.requireNonNull(forkJoinPool, "Fork-join pool is required");
+        return this;
+    }
+
+    @Override
+    public List<Polygon> split(Polygon originalPolygon, int numberOfParts) {
+        return split(originalPolygon, numberOfParts, Checkpoint.NONE).getParts();
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * When the budget runs out, the cuts being searched are the shortest ones evaluated so far, and the pieces not cut yet are split into
+     * parallel strips by a {@link StripPolygonSplitter}. A piece whose search has not evaluated any cut is split into strips as a whole.
+     *
+     * @throws IllegalStateException if the budget ran out and a piece is cut more than once by strips in every direction
+     */
+    @Override
+    public BudgetedSplit split(Polygon originalPolygon, int numberOfParts, long budget, TimeUnit unit) {
+        return split(originalPolygon, numberOfParts, Checkpoint.after(budget, unit));
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Cancelling the future, or interrupting the thread running the split, stops the recursion and the searches of edge pairs of all pieces
+     * before their next pair, and the future completes exceptionally by a {@link CancellationException}.
+     */
+    @Override
+    public CompletableFuture<List<Polygon>> splitAsync(Polygon originalPolygon, int numberOfParts, Executor executor) {
+        return Checkpoint.supplyAsync(checkpoint -> split(originalPolygon, numberOfParts, checkpoint).getParts(), executor);
+    }
+
+    /**
+     * @throws CancellationException if the split is cancelled
+     */
+    private BudgetedSplit split(Polygon originalPolygon, int numberOfParts, Checkpoint checkpoint) {
+        PolygonValidator.Result validation = PolygonValidator.validate(originalPolygon);
+        if (!validation.isValid()) {
+            throw new IllegalArgumentException("Polygon is not valid: " + validation);
+        }
+        if (numberOfParts < 2) {
+            throw new IllegalArgumentException("Number of parts should be greater than 1!");
+        }
+        checkpoint.throwIfCancelled();
+
+        List<Polygon> polygonParts = forkJoinPool.invoke(new BisectionTask(originalPolygon, numberOfParts, checkpoint));
+
+        PartsVerifier.verify(originalPolygon, polygonParts, splitter.getVerification());
+
+        List<Polygon> parts = Collections.unmodifiableList(polygonParts);
+        return checkpoint.wasReached() ? BudgetedSplit.approximate(parts) : BudgetedSplit.exact(parts);
+    }
+
+    /**
+     * Splits a piece of the polygon into the given number of parts, cutting away the area of the first half of them.
+     */
+    private class BisectionTask extends RecursiveTask<List<Polygon>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Polygon polygon;
+        private final int numberOfParts;
+        private final Checkpoint checkpoint;
+        private Polygon polygonWithMidpoints;
+
+        BisectionTask(Polygon polygon, int numberOfParts, Checkpoint checkpoint) {
+            this.polygon = polygon;
+            this.numberOfParts = numberOfParts;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        protected List<Polygon> compute() {
+            if (numberOfParts == 1) {
+                return Collections.singletonList(polygon);
+            }
+            checkpoint.throwIfCancelled();
+
+            // the edge pairs of small pieces may have no cut of half the area, in which case the piece is divided less evenly,
+            // down to cutting away a single part like the greedy algorithm does
+            int firstPartCount = numberOfParts / 2;
+            Polygon[] pieces = checkpoint.isReached() ? null : cut(firstPartCount);
+            while (pieces == null && firstPartCount > 1 && !checkpoint.wasReached()) {
+                pieces = cut(--firstPartCount);
+            }
+            checkpoint.throwIfCancelled();
+            if (pieces == null && checkpoint.wasReached()) {
+                return GreedyPolygonSplitter.splitIntoStrips(polygon, numberOfParts);
+            }
+            if (pieces == null) {
+                throw new IllegalStateException("No cut of the required area was found");
+            }
+
+            BisectionTask second = new BisectionTask(pieces[1], numberOfParts - firstPartCount, checkpoint);
+            second.fork();
+            List<Polygon> firstParts = new BisectionTask(pieces[0], firstPartCount, checkpoint).compute();
+            List<Polygon> secondParts = second.join();
+
+            List<Polygon> parts = new ArrayList<>(numberOfParts);
+            parts.addAll(firstParts);
+            parts.addAll(secondParts);
+            return parts;
+        }
+
+        /**
+         * @return the piece of the given number of parts and the remainder, or null if there is no cut of its area
+         */
+        private Polygon[] cut(int firstPartCount) {
+            // the area is a share of the piece itself, so the error of an earlier cut is spread over the parts of the piece
+            double areaToCutAway = polygon.getArea() * firstPartCount / numberOfParts;
+            Polygon[] pieces = splitter.cut(polygon, areaToCutAway, scratch.get(), splitter.getForkJoinPool(), checkpoint);
+            if (pieces != null || checkpoint.wasReached()) {
+                return pieces;
+            }
+
+            // cuts between adjacent edges are not considered, and they are the only cuts of nearly triangular pieces; with a midpoint on every
+            // edge, most of them are cuts between the halves of two edges which are not adjacent
+            if (polygonWithMidpoints == null) {
+                polygonWithMidpoints = insertMidpoints(polygon);
+            }
+            return splitter.cut(polygonWithMidpoints, areaToCutAway, scratch.get(), splitter.getForkJoinPool(), checkpoint);
+        }
+    }
+
+    private static Polygon insertMidpoints(Polygon polygon) {
+        Coordinate[] ring = polygon.getExteriorRing().getCoordinates();
+        Coordinate[] vertices = new Coordinate[(ring.length - 1) * 2];
+        for (int i = 0; i < ring.length - 1; i++) {
+            vertices[i * 2] = ring[i];
+            vertices[i * 2 + 1] = new LineSegment(ring[i], ring[i + 1]).midPoint();
+        }
+        return GeometryFactoryUtils.createPolygon(vertices);
+    }
+
+}
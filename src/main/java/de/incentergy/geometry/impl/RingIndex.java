@@ -0,0 +1,309 @@
+package de.incentergy.geometry.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometryFactory;
+import com.vividsolutions.jts.index.strtree.STRtree;
+
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.GeometryUtils;
+import de.incentergy.geometry.utils.PrimitiveGeometry;
+
+/**
+ * Index of the exterior ring of a polygon.<br>
+ * It is built once per split iteration and holds the line segments of the ring together with their positions,
+ * so that edge indices and segment counts between edges do not have to be recomputed for every {@link EdgePair}.<br>
+ * The vertices are also kept in primitive arrays, so that the edge pairs can be evaluated by index without touching the JTS objects
+ * (edge i goes from vertex i to vertex i + 1, wrapping around to vertex 0 for the last edge).<br>
+ * Prefix sums of the shoelace formula give the area bound by any interval of ring vertices and its closing chord in constant time.<br>
+ * Whether the ring is convex is determined once, as the edge pairs of a convex ring which may have a cut of a given area can be found in
+ * linear time.<br>
+ * Optionally the polygon is prepared, so that repeated containment tests against it reuse the same cached index,
+ * and the segments are put into a spatial index, so that intersection tests only check the segments near the tested line.
+ */
+final class RingIndex {
+
+    private final Polygon polygon;
+    private final List<LineSegment> segments;
+    private final Map<LineSegment, Integer> positions;
+    private final PreparedGeometry preparedPolygon;
+    private final STRtree segmentTree;
+    private final double area;
+    private final double[] vertexX;
+    private final double[] vertexY;
+
+    // vertex coordinates are stored relative to the first vertex, which keeps the cross products small and precise
+    private final double[] x;
+    private final double[] y;
+    private final double[] doubleAreaPrefixSums;        // element k holds the sum of cross products of edges 0..k-1 (twice the signed area)
+    private final boolean convex;
+
+    RingIndex(Polygon polygon) {
+        this(polygon, false, false);
+    }
+
+    /**
+     * @param polygon polygon whose exterior ring is indexed
+     * @param preparedContainment if true, {@link #contains(Geometry)} is evaluated against a {@link PreparedGeometry}
+     * @param indexedIntersection if true, {@link #isIntersecting(LineSegment)} only tests the segments found in a {@link STRtree}
+     */
+    RingIndex(Polygon polygon, boolean preparedContainment, boolean indexedIntersection) {
+        this.polygon = Objects.requireNonNull(polygon, "Polygon is required");
+        this.preparedPolygon = preparedContainment ? PreparedGeometryFactory.prepare(polygon) : null;
+        this.segments = Collections.unmodifiableList(GeometryUtils.getLineSegments(polygon.getExteriorRing()));
+        this.positions = new HashMap<>(segments.size() * 2);
+        for (int i = 0; i < segments.size(); i++) {
+            positions.putIfAbsent(segments.get(i), i);        // keep the first occurrence, same as List#indexOf
+        }
+        this.segmentTree = indexedIntersection ? buildSegmentTree(segments) : null;
+        this.area = polygon.getArea();
+
+        int vertexCount = segments.size();
+        this.vertexX = new double[vertexCount];
+        this.vertexY = new double[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertexX[i] = segments.get(i).p0.x;
+            vertexY[i] = segments.get(i).p0.y;
+        }
+
+        Coordinate origin = vertexCount > 0 ? segments.get(0).p0 : new Coordinate(0, 0);
+        this.x = new double[vertexCount];
+        this.y = new double[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            x[i] = segments.get(i).p0.x - origin.x;
+            y[i] = segments.get(i).p0.y - origin.y;
+        }
+        this.doubleAreaPrefixSums = new double[vertexCount + 1];
+        for (int i = 0; i < vertexCount; i++) {
+            doubleAreaPrefixSums[i + 1] = doubleAreaPrefixSums[i] + cross(i, (i + 1) % vertexCount);
+        }
+        this.convex = isTurningOneWay(x, y);
+    }
+
+    /**
+     * Same as {@link #isConvex()}, without building the index.
+     *
+     * @param ring closed ring of coordinates
+     * @return true if the ring is convex
+     */
+    static boolean isConvex(Coordinate[] ring) {
+        int vertexCount = Math.max(0, ring.length - 1);
+        double[] x = new double[vertexCount];
+        double[] y = new double[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            x[i] = ring[i].x - ring[0].x;
+            y[i] = ring[i].y - ring[0].y;
+        }
+        return isTurningOneWay(x, y);
+    }
+
+    /**
+     * @return true if the ring turns in the same direction at every vertex (or goes straight on), which makes a simple ring convex
+     */
+    private static boolean isTurningOneWay(double[] x, double[] y) {
+        int vertexCount = x.length;
+        boolean turnsLeft = false;
+        boolean turnsRight = false;
+        for (int i = 0; i < vertexCount; i++) {
+            int previous = (i - 1 + vertexCount) % vertexCount;
+            int next = (i + 1) % vertexCount;
+            double turn = (x[i] - x[previous]) * (y[next] - y[i]) - (y[i] - y[previous]) * (x[next] - x[i]);
+            turnsLeft |= turn > 0;
+            turnsRight |= turn < 0;
+        }
+        return vertexCount >= 3 && !(turnsLeft && turnsRight);
+    }
+
+    private double cross(int vertexA, int vertexB) {
+        return x[vertexA] * y[vertexB] - x[vertexB] * y[vertexA];
+    }
+
+    private static STRtree buildSegmentTree(List<LineSegment> segments) {
+        STRtree tree = new STRtree();
+        for (int i = 0; i < segments.size(); i++) {
+            LineSegment segment = segments.get(i);
+            tree.insert(new Envelope(segment.p0, segment.p1), i);
+        }
+        tree.build();
+        return tree;
+    }
+
+    Polygon getPolygon() {
+        return polygon;
+    }
+
+    /**
+     * @return x coordinate of the vertex, i.e. of p0 of the segment with the same index
+     */
+    double getX(int vertex) {
+        return vertexX[vertex];
+    }
+
+    /**
+     * @return y coordinate of the vertex, i.e. of p0 of the segment with the same index
+     */
+    double getY(int vertex) {
+        return vertexY[vertex];
+    }
+
+    /**
+     * @return area of the polygon
+     */
+    double getArea() {
+        return area;
+    }
+
+    /**
+     * @return true if the polygon is convex
+     */
+    boolean isConvex() {
+        return convex;
+    }
+
+    /**
+     * Computes the area of a polygon which starts at start vertex, traverses along the exterior ring until end vertex is reached
+     * and is closed by connecting end vertex to start vertex.<br>
+     * Same as the area of {@link de.incentergy.geometry.utils.GeometryFactoryUtils#getSubpolygon(Polygon, Coordinate, Coordinate)}, but computed in constant time.
+     *
+     * @param startVertex zero-based index of the ring vertex where to start (i.e. p0 of segment with the same index)
+     * @param endVertex zero-based index of the ring vertex where to end
+     * @return area of the subpolygon
+     */
+    double getSubpolygonArea(int startVertex, int endVertex) {
+        double doubleArea = startVertex <= endVertex
+                ? doubleAreaPrefixSums[endVertex] - doubleAreaPrefixSums[startVertex]
+                : doubleAreaPrefixSums[segments.size()] - doubleAreaPrefixSums[startVertex] + doubleAreaPrefixSums[endVertex];      // running through the first vertex
+        doubleArea += cross(endVertex, startVertex);                                                                                        // closing chord
+        return Math.abs(doubleArea) / 2;
+    }
+
+    /**
+     * Creates a polygon which starts at start vertex, traverses along the exterior ring until end vertex is reached and is closed by connecting
+     * end vertex to start vertex.<br>
+     * Same as {@link de.incentergy.geometry.utils.GeometryFactoryUtils#getSubpolygon(Polygon, Coordinate, Coordinate)}, but without searching for the vertices.
+     *
+     * @param startVertex zero-based index of the ring vertex where to start
+     * @param endVertex zero-based index of the ring vertex where to end
+     * @return the subpolygon
+     */
+    Polygon getSubpolygon(int startVertex, int endVertex) {
+        int vertexCount = segments.size();
+        int subpolygonVertexCount = (endVertex - startVertex + vertexCount) % vertexCount + 1;
+        Coordinate[] vertices = new Coordinate[subpolygonVertexCount];
+        for (int i = 0; i < subpolygonVertexCount; i++) {
+            vertices[i] = segments.get((startVertex + i) % vertexCount).p0;
+        }
+        return GeometryFactoryUtils.createPolygon(vertices);
+    }
+
+    /**
+     * Checks if the polygon contains the given geometry, using the prepared polygon if available.
+     */
+    boolean contains(Geometry geometry) {
+        return preparedPolygon != null ? preparedPolygon.contains(geometry) : polygon.contains(geometry);
+    }
+
+    /**
+     * Checks if the line intersects any of the edges of the exterior ring.<br>
+     * Same semantics as {@link GeometryUtils#isIntersectingPolygon(LineSegment, Polygon)}, but if the segments are indexed,
+     * only the ones having an envelope that intersects the envelope of the line are tested.
+     *
+     * @param line line which might intersect the edges of polygon
+     * @return true if line intersects at least one edge of the polygon
+     */
+    boolean isIntersecting(LineSegment line) {
+        return isIntersecting(line.p0.x, line.p0.y, line.p1.x, line.p1.y);
+    }
+
+    /**
+     * Same as {@link #isIntersecting(LineSegment)} for the line going from (x0, y0) to (x1, y1).
+     */
+    boolean isIntersecting(double x0, double y0, double x1, double y1) {
+        if (segmentTree == null) {
+            for (int i = 0; i < vertexX.length; i++) {
+                if (isProperIntersection(x0, y0, x1, y1, i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Integer> nearbyEdges = segmentTree.query(new Envelope(x0, x1, y0, y1));
+        for (int edge : nearbyEdges) {
+            if (isProperIntersection(x0, y0, x1, y1, edge)) {      // intersection exists and is not one of the endpoints of the line
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isProperIntersection(double x0, double y0, double x1, double y1, int edge) {
+        int endVertex = edge + 1 < vertexX.length ? edge + 1 : 0;
+        return PrimitiveGeometry.isProperIntersection(x0, y0, x1, y1, vertexX[edge], vertexY[edge], vertexX[endVertex], vertexY[endVertex]);
+    }
+
+    /**
+     * The prepared polygon builds its internal indexes lazily and JTS does not guard all of them against concurrent initialization.
+     * This method forces them to be built, so that the index can afterwards be shared between threads.
+     *
+     * @return this index
+     */
+    RingIndex initializeForConcurrentUse() {
+        if (preparedPolygon != null) {
+            preparedPolygon.contains(polygon);          // uses both the point locator and the segment intersection finder
+        }
+        return this;
+    }
+
+    List<LineSegment> getSegments() {
+        return segments;
+    }
+
+    LineSegment getSegment(int index) {
+        return segments.get(index);
+    }
+
+    /**
+     * @return number of line segments in the exterior ring
+     */
+    int size() {
+        return segments.size();
+    }
+
+    /**
+     * @return zero-based position of the segment in the exterior ring, or -1 if the ring does not contain it
+     */
+    int indexOf(LineSegment segment) {
+        Integer position = positions.get(segment);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * @return number of line segments between edgeA and edgeB (exclusive)
+     */
+    int getSegmentCountBetween(int indexOfEdgeA, int indexOfEdgeB) {
+        return getSegmentsCovered(indexOfEdgeA, indexOfEdgeB) - 2;
+    }
+
+    /**
+     * @return number of line segments between edgeB and edgeA (exclusive), i.e. the ones outside of the edge pair
+     */
+    int getSegmentCountOutside(int indexOfEdgeA, int indexOfEdgeB) {
+        return segments.size() - getSegmentsCovered(indexOfEdgeA, indexOfEdgeB);
+    }
+
+    private static int getSegmentsCovered(int indexOfEdgeA, int indexOfEdgeB) {
+        return indexOfEdgeB - indexOfEdgeA + 1;         // number of segments covered by a LineRing starting with edgeA and ending with edgeB (including)
+    }
+}
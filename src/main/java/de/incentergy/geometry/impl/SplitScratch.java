@@ -0,0 +1,31 @@
+package de.incentergy.geometry.impl;
+
+/**
+ * Working memory of the sequential evaluation of edge pairs, which is reused by all iterations of a split and by consecutive splits
+ * on the same thread (see {@link BatchSplitter}).<br>
+ * Not safe for concurrent use.
+ */
+final class SplitScratch {
+
+    private static final int MAX_RETAINED_PAIR_KEYS = PairKeyQueue.MAX_KEY_COUNT;    // 8 MB, the pair keys of a polygon of any size
+    private static final int PAIR_KEY_BATCH_SIZE = 64;                       // keys taken at once by a worker of a parallel search
+
+    final IndexedEdgePair edgePair = new IndexedEdgePair();
+    final double[] cuts = new double[IndexedEdgePair.MAX_CUTS_SIZE];
+    final long[] pairKeyBatch = new long[PAIR_KEY_BATCH_SIZE];
+    private long[] pairKeys = new long[0];
+
+    /**
+     * @return array of at least the given length, its contents are undefined
+     */
+    long[] getPairKeys(int minimumLength) {
+        if (pairKeys.length >= minimumLength) {
+            return pairKeys;
+        }
+        if (minimumLength > MAX_RETAINED_PAIR_KEYS) {
+            return new long[minimumLength];         // not kept, so that one huge polygon does not hold its memory for the life of the thread
+        }
+        pairKeys = new long[minimumLength];
+        return pairKeys;
+    }
+}
@@ -0,0 +1,356 @@
+package de.incentergy.geometry.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.PolygonValidator;
+
+/**
+ * {@link PolygonSplitter} implementation which splits the polygon into strips by parallel cuts.<br>
+ * A line is swept across the polygon perpendicular to the cuts. The length of its intersection with the polygon is linear between the vertices,
+ * so the area behind it is kept incrementally as a piecewise quadratic function over the vertices ordered by their position along the sweep,
+ * and the offsets of all cuts are solved for in the same pass. Finding the cuts takes O(n log n + k) for n vertices and k parts, cutting the
+ * parts out of the polygon takes O(k n).
+ * <p>
+ * Several directions are tried and the one with the shortest total length of the cuts is kept. Every cut must cross the polygon in a single
+ * line, otherwise a strip would consist of several polygons, so directions in which a concave polygon is cut more than once are skipped.
+ */
+public class StripPolygonSplitter implements PolygonSplitter {
+
+    private static final int DEFAULT_DIRECTION_COUNT = 8;
+
+    private double[] directions = getDirections(DEFAULT_DIRECTION_COUNT);
+    private Verification verification = Verification.CHEAP;
+
+    /**
+     * Cuts the polygon in a single direction.
+     *
+     * @param angle angle of the cuts to the x axis, counterclockwise in radians
+     * @return this splitter
+     */
+    public StripPolygonSplitter withDirection(double angle) {
+        if (!Double.isFinite(angle)) {
+            throw new IllegalArgumentException("Angle must be finite");
+        }
+        this.directions = new double[] { angle };
+        return this;
+    }
+
+    /**
+     * Tries the given number of directions, evenly spaced over a half turn starting at the x axis, and keeps the one with the shortest total
+     * length of the cuts.<br>
+     * 8 directions by default, so axis-parallel cuts are among them.
+     *
+     * @param directionCount number of directions to try
+     * @return this splitter
+     */
+    public StripPolygonSplitter withDirectionCount(int directionCount) {
+        if (directionCount < 1) {
+            throw new IllegalArgumentException("Direction count must be positive");
+        }
+        this.directions = getDirections(directionCount);
+        return this;
+    }
+
+    /**
+     * Selects how thoroughly the produced parts are checked to make up the original polygon, see {@link Verification}.<br>
+     * {@link Verification#CHEAP} by default.
+     *
+     * @param verification level of verification
+     * @return this splitter
+     */
+    public StripPolygonSplitter withVerification(Verification verification) {
+        this.verification = Objects.requireNonNull(verification, "Verification is required");
+        return this;
+    }
+
+    @Override
+    public List<Polygon> split(Polygon originalPolygon, int numberOfParts) {
+        PolygonValidator.Result validation = PolygonValidator.validate(originalPolygon);
+        if (!validation.isValid()) {
+            throw new IllegalArgumentException("Polygon is not valid: " + validation);
+        }
+        if (numberOfParts < 2) {
+            throw new IllegalArgumentException("Number of parts should be greater than 1!");
+        }
+
+        List<Polygon> parts = splitValid(originalPolygon, numberOfParts);
+        if (parts == null) {
+            throw new IllegalStateException("Polygon is cut more than once in every direction");
+        }
+        return parts;
+    }
+
+    /**
+     * Splits a polygon without validating it, for the pieces of polygons which another splitter has validated, e.g. a triangle which is left
+     * over by the cuts of a {@link GreedyPolygonSplitter}.
+     *
+     * @param numberOfParts number of parts, at least 2
+     * @return the parts, or null if the polygon is cut more than once by strips in every direction
+     */
+    List<Polygon> splitValid(Polygon polygon, int numberOfParts) {
+        Coordinate[] ring = polygon.getExteriorRing().getCoordinates();
+        double area = polygon.getArea();
+        Sweep shortestSweep = null;
+        for (double angle : directions) {
+            Sweep sweep = new Sweep(ring, angle, area, numberOfParts);
+            if (sweep.isCutOnce() && (shortestSweep == null || sweep.totalCutLength < shortestSweep.totalCutLength)) {
+                shortestSweep = sweep;
+            }
+        }
+        if (shortestSweep == null) {
+            return null;
+        }
+
+        List<Polygon> polygonParts = shortestSweep.cut(polygon);
+
+        PartsVerifier.verify(polygon, polygonParts, verification);
+
+        return Collections.unmodifiableList(polygonParts);
+    }
+
+    private static double[] getDirections(int directionCount) {
+        double[] directions = new double[directionCount];
+        for (int i = 0; i < directionCount; i++) {
+            directions[i] = Math.PI * i / directionCount;
+        }
+        return directions;
+    }
+
+    /**
+     * Offsets of the cuts in one direction.<br>
+     * Positions along the sweep are {@code t}, positions along the cuts are {@code s}; the two axes are the sweep direction and the direction of
+     * the cuts rotated by a quarter turn, so the orientation of the ring is the same in both frames.
+     */
+    private static final class Sweep {
+        private final Coordinate[] ring;
+        private final double sweepX;
+        private final double sweepY;
+        /** position of every cut along the sweep, in ascending order */
+        final double[] offsets;
+        /** number of ring edges crossed by every cut */
+        final int[] crossingCounts;
+        final double totalCutLength;
+
+        /**
+         * @param ring closed ring of the polygon
+         * @param angle angle of the cuts to the x axis
+         * @param area area of the polygon
+         */
+        Sweep(Coordinate[] ring, double angle, double area, int numberOfParts) {
+            this.ring = ring;
+            this.sweepX = Math.sin(angle);
+            this.sweepY = -Math.cos(angle);
+            this.offsets = new double[numberOfParts - 1];
+            this.crossingCounts = new int[numberOfParts - 1];
+
+            int vertexCount = ring.length - 1;
+            double[] t = new double[vertexCount];
+            double[] s = new double[vertexCount];
+            double signedArea = 0;
+            for (int i = 0; i < vertexCount; i++) {
+                t[i] = getOffset(ring[i]);
+                s[i] = -ring[i].x * sweepY + ring[i].y * sweepX;
+            }
+            for (int i = 0; i < vertexCount; i++) {
+                int next = (i + 1) % vertexCount;
+                signedArea += t[i] * s[next] - t[next] * s[i];
+            }
+            // walking a counterclockwise ring in the direction of the sweep, the polygon is to the left, i.e. at greater s
+            double orientation = signedArea > 0 ? 1 : -1;
+
+            int[] order = getOrder(t);
+
+            // length of the intersection of the sweep line and the polygon is length + slope * (t - offset of the last vertex)
+            double length = 0;
+            CompensatedSum slope = new CompensatedSum();             // the slopes of edges nearly parallel to the cuts are huge and cancel out
+            int crossingCount = 0;
+            double sweptArea = 0;
+            double totalCutLength = 0;
+            int cutIndex = 0;
+            for (int k = 0; k < vertexCount && cutIndex < offsets.length; k++) {
+                int vertex = order[k];
+                int previous = (vertex - 1 + vertexCount) % vertexCount;
+                int next = (vertex + 1) % vertexCount;
+                for (int side = 0; side < 2; side++) {
+                    int other = side == 0 ? previous : next;
+                    if (t[other] == t[vertex]) {
+                        continue;               // an edge parallel to the cuts does not change the length of the intersection
+                    }
+                    // the edge from its lower end to its upper end is on the top of the polygon if the ring runs against the sweep there
+                    boolean isStart = t[other] > t[vertex];
+                    boolean againstSweep = (other == next) != isStart;
+                    double sign = againstSweep == orientation > 0 ? 1 : -1;
+                    double edgeSlope = sign * (s[other] - s[vertex]) / (t[other] - t[vertex]);
+                    if (isStart) {
+                        length += sign * s[vertex];
+                        slope.add(edgeSlope);
+                        crossingCount++;
+                    } else {
+                        length -= sign * s[vertex];
+                        slope.add(-edgeSlope);
+                        crossingCount--;
+                    }
+                }
+                if (k == vertexCount - 1) {
+                    break;
+                }
+
+                double width = t[order[k + 1]] - t[vertex];
+                double intervalSlope = slope.get();
+                double intervalArea = length * width + intervalSlope * width * width / 2;
+                while (cutIndex < offsets.length && width > 0 && sweptArea + intervalArea >= area * (cutIndex + 1) / numberOfParts) {
+                    double x = solve(length, intervalSlope, area * (cutIndex + 1) / numberOfParts - sweptArea, width);
+                    offsets[cutIndex] = t[vertex] + x;
+                    crossingCounts[cutIndex] = crossingCount;
+                    totalCutLength += length + intervalSlope * x;
+                    cutIndex++;
+                }
+                sweptArea += intervalArea;
+                length += intervalSlope * width;
+            }
+            // rounding may leave the last cuts just short of the end of the polygon
+            for (; cutIndex < offsets.length; cutIndex++) {
+                offsets[cutIndex] = t[order[vertexCount - 1]];
+                crossingCounts[cutIndex] = 0;
+            }
+            this.totalCutLength = totalCutLength;
+        }
+
+        /**
+         * Orders the vertices by their offsets along the sweep, and vertices of equal offsets by index.<br>
+         * The offsets are sorted as primitives, and every vertex takes the next free position among the equal offsets, in the order of the
+         * vertices.
+         *
+         * @return indexes of the vertices in the order of the sweep
+         */
+        private static int[] getOrder(double[] t) {
+            double[] sortedOffsets = t.clone();
+            Arrays.sort(sortedOffsets);
+            int[] order = new int[t.length];
+            int[] takenPositions = new int[t.length];         // number of vertices placed at the first position of every offset
+            for (int i = 0; i < t.length; i++) {
+                int firstPosition = getFirstPosition(sortedOffsets, t[i]);
+                order[firstPosition + takenPositions[firstPosition]++] = i;
+            }
+            return order;
+        }
+
+        /**
+         * @return position of the first occurrence of the offset in the sorted offsets, which contain it
+         */
+        private static int getFirstPosition(double[] sortedOffsets, double offset) {
+            int low = 0;
+            int high = sortedOffsets.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (Double.compare(sortedOffsets[middle], offset) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return true if every cut crosses the polygon in a single line
+         */
+        boolean isCutOnce() {
+            for (int crossingCount : crossingCounts) {
+                if (crossingCount != 2) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Cuts the strips out of the polygon, splicing the ring of the remainder at every cut.
+         *
+         * @return strips in the order of the sweep
+         */
+        List<Polygon> cut(Polygon polygon) {
+            List<Polygon> polygonParts = new ArrayList<>(offsets.length + 1);
+            Polygon remainingPoly = polygon;
+            for (double offset : offsets) {
+                Coordinate[] lineOfCut = getLineOfCut(offset);
+                Polygon[] pieces = GeometryFactoryUtils.splitPolygon(remainingPoly, lineOfCut[0], lineOfCut[1]);
+                boolean firstIsBehind = getOffset(pieces[0].getCentroid().getCoordinate()) < offset;
+                polygonParts.add(firstIsBehind ? pieces[0] : pieces[1]);
+                remainingPoly = firstIsBehind ? pieces[1] : pieces[0];
+            }
+            polygonParts.add(remainingPoly);
+            return polygonParts;
+        }
+
+        /**
+         * @return points where the cut at the offset crosses the ring of the polygon
+         */
+        private Coordinate[] getLineOfCut(double offset) {
+            Coordinate[] lineOfCut = new Coordinate[2];
+            int pointCount = 0;
+            for (int i = 0; i < ring.length - 1; i++) {
+                double offsetA = getOffset(ring[i]);
+                double offsetB = getOffset(ring[i + 1]);
+                if ((offsetA <= offset) == (offsetB <= offset)) {
+                    continue;
+                }
+                if (pointCount == 2) {
+                    throw new IllegalStateException("Cut at " + offset + " crosses the polygon more than once");
+                }
+                double fraction = (offset - offsetA) / (offsetB - offsetA);
+                lineOfCut[pointCount++] = new Coordinate(ring[i].x + fraction * (ring[i + 1].x - ring[i].x),
+                        ring[i].y + fraction * (ring[i + 1].y - ring[i].y));
+            }
+            if (pointCount < 2) {
+                throw new IllegalStateException("Cut at " + offset + " does not cross the polygon");
+            }
+            return lineOfCut;
+        }
+
+        private double getOffset(Coordinate coordinate) {
+            return coordinate.x * sweepX + coordinate.y * sweepY;
+        }
+
+        /**
+         * Solves {@code length * x + slope * x² / 2 = area} for the offset x within an interval of the sweep.
+         */
+        private static double solve(double length, double slope, double area, double width) {
+            double discriminant = Math.max(0, length * length + 2 * slope * area);
+            double denominator = length + Math.sqrt(discriminant);             // no cancellation, as the length is not negative
+            double x = denominator > 0 ? 2 * area / denominator : width;
+            return Math.min(Math.max(x, 0), width);
+        }
+    }
+
+    /**
+     * Sum of doubles which keeps the low-order bits lost when adding numbers of different magnitudes (Neumaier's variant of Kahan summation).
+     */
+    private static final class CompensatedSum {
+        private double sum;
+        private double compensation;
+
+        void add(double value) {
+            double newSum = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - newSum) + value;
+            } else {
+                compensation += (value - newSum) + sum;
+            }
+            sum = newSum;
+        }
+
+        double get() {
+            return sum + compensation;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package de.incentergy.geometry.impl;
+
+/**
+ * Level of verification of the parts produced by a split, from the cheapest to the most thorough one.<br>
+ * Every level includes the checks of the levels before it. A failed verification throws an {@link IllegalStateException}.
+ */
+public enum Verification {
+
+    /**
+     * Parts are returned as computed, without any checks.
+     */
+    NONE,
+
+    /**
+     * Total area of the parts must be equal to the original area, and every vertex of the original polygon must be a vertex of some part.
+     * Takes linear time.
+     */
+    CHEAP,
+
+    /**
+     * A fixed set of pseudo-random points within the envelope of the original polygon is located in the parts:
+     * points in the original polygon must be in exactly one part, points outside of it in none.
+     */
+    SAMPLED,
+
+    /**
+     * The union of the parts, computed by overlay, must cover the same area as the original polygon.
+     * The consistency of the areas of every evaluated edge pair is checked as well.
+     */
+    FULL
+}
@@ -6,11 +6,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
+import com.vividsolutions.jts.algorithm.CGAlgorithms;
 import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.geom.Geometry;
 import com.vividsolutions.jts.geom.GeometryCollection;
 import com.vividsolutions.jts.geom.GeometryFactory;
-import com.vividsolutions.jts.geom.LineSegment;
 import com.vividsolutions.jts.geom.Polygon;
 import com.vividsolutions.jts.operation.polygonize.Polygonizer;
 
@@ -110,45 +110,88 @@ public final class GeometryFactoryUtils {
         Objects.requireNonNull(startPoint, "Start coordinate must be provided");
         Objects.requireNonNull(endPoint, "End coordinate must be provided");
 
-        List<Coordinate> vertices = new ArrayList<>();
+        Coordinate[] ring = polygonToSlice.getExteriorRing().getCoordinates();
+        int startEdge = getIndexOfEdgeContaining(ring, startPoint, true);
+        int endEdge = getIndexOfEdgeContaining(ring, endPoint, false);
+        return createPolygonAlongRing(ring, startPoint, startEdge, endPoint, endEdge);
+    }
 
-        boolean started = false;
-        boolean finished = false;
-
-        List<LineSegment> edges = GeometryUtils.getLineSegments(polygonToSlice.getExteriorRing());
-        for (LineSegment edge : edges) {
-            if (!started && GeometryUtils.isPointOnLineSegment(startPoint, edge) && !startPoint.equals(edge.p1)) {
-                // if startPoint is on the edge, start building up the sliced part
-                // if it is the endpoint, it will be considered as part of the next edge
-                vertices.add(startPoint);
-                started = true;
-                continue;
-            }
+    /**
+     * Splits a polygon into two along the line from start point to end point, by splicing its exterior ring.<br>
+     * The first part is the same as produced by {@link #slicePolygon(Polygon, Coordinate, Coordinate)}, the second one traverses the rest of the ring
+     * from end point back to start point. Both are built in a single pass over the ring, without any overlay operations.
+     *
+     * @param polygonToSplit
+     * @param startPoint a point along the exterior ring where the line of cut starts
+     * @param endPoint a point along the exterior ring where the line of cut ends
+     * @return an array of two polygons: the sliced part and the remainder
+     */
+    public static Polygon[] splitPolygon(Polygon polygonToSplit, Coordinate startPoint, Coordinate endPoint) {
+        Objects.requireNonNull(polygonToSplit, "Polygon must be provided");
+        Objects.requireNonNull(startPoint, "Start coordinate must be provided");
+        Objects.requireNonNull(endPoint, "End coordinate must be provided");
 
-            if (started) {
-                vertices.add(edge.p0);
+        Coordinate[] ring = polygonToSplit.getExteriorRing().getCoordinates();
+        int startEdge = getIndexOfEdgeContaining(ring, startPoint, true);
+        int endEdge = getIndexOfEdgeContaining(ring, endPoint, false);
+        return new Polygon[] {
+                createPolygonAlongRing(ring, startPoint, startEdge, endPoint, endEdge),
+                createPolygonAlongRing(ring, endPoint, endEdge, startPoint, startEdge)
+        };
+    }
 
-                if (GeometryUtils.isPointOnLineSegment(endPoint, edge)) {
-                    vertices.add(endPoint);
-                    finished = true;
-                    break;
-                }
+    /**
+     * Finds the edge of the ring closest to the point.<br>
+     * Distance is used instead of exact on-line tests, as computed points can be off the edge by rounding errors.
+     *
+     * @param ring closed ring of coordinates
+     * @param point a point along the ring
+     * @param isStartPoint if true and point is a vertex, the edge starting at it is returned, otherwise the edge ending at it
+     * @return zero-based index of the edge
+     */
+    private static int getIndexOfEdgeContaining(Coordinate[] ring, Coordinate point, boolean isStartPoint) {
+        int edgeCount = ring.length - 1;
+        int closestEdge = 0;
+        double minDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < edgeCount; i++) {
+            double distance = CGAlgorithms.distancePointLine(point, ring[i], ring[i + 1]);
+            if (distance < minDistance) {
+                minDistance = distance;
+                closestEdge = i;
             }
         }
 
-        if (started && !finished) {
-            // polygon runs through the first point - continue until endPoint is reached
+        // a vertex lies on two edges - pick the one according to the direction of traversal
+        if (isStartPoint && point.equals2D(ring[closestEdge + 1])) {
+            return (closestEdge + 1) % edgeCount;
+        }
+        if (!isStartPoint && point.equals2D(ring[closestEdge])) {
+            return (closestEdge - 1 + edgeCount) % edgeCount;
+        }
+        return closestEdge;
+    }
 
-            for (LineSegment edge : edges) {
-                vertices.add(edge.p0);
-                if (GeometryUtils.isPointOnLineSegment(endPoint, edge)) {
-                    vertices.add(endPoint);
-                    finished = true;
-                    break;
-                }
-            }
+    /**
+     * Creates a polygon from start point, the ring vertices from the end of start edge to the start of end edge and end point.
+     * If start and end edges are the same, the whole ring is traversed.
+     */
+    private static Polygon createPolygonAlongRing(Coordinate[] ring, Coordinate startPoint, int startEdge, Coordinate endPoint, int endEdge) {
+        int edgeCount = ring.length - 1;
+        int ringVertexCount = (endEdge - startEdge + edgeCount) % edgeCount;
+        if (ringVertexCount == 0) {
+            ringVertexCount = edgeCount;
         }
 
+        List<Coordinate> vertices = new ArrayList<>(ringVertexCount + 2);
+        vertices.add(startPoint);
+        for (int i = 1; i <= ringVertexCount; i++) {
+            Coordinate vertex = ring[(startEdge + i) % edgeCount];
+            if ((i == 1 && vertex.equals2D(startPoint)) || (i == ringVertexCount && vertex.equals2D(endPoint))) {
+                continue;               // points of cut coincide with vertices
+            }
+            vertices.add(vertex);
+        }
+        vertices.add(endPoint);
         return createPolygon(vertices.toArray(new Coordinate[vertices.size()]));
     }
 
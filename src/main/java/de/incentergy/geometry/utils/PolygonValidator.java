@@ -0,0 +1,355 @@
+package de.incentergy.geometry.utils;
+
+import java.util.TreeSet;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.Polygon;
+
+/**
+ * Validates polygons that can be split: a single simple exterior ring without holes and with at least 4 sides.<br>
+ * This is a narrower, but much cheaper check than {@link Polygon#isValid()}, which builds a full geometry graph.
+ * Self-intersections are found by a sweep line over the ring segments in O(n log n), using exact orientation tests.
+ * Unlike {@link Polygon#isValid()}, holes, triangles and repeated consecutive vertices are rejected, as they can not be split.
+ */
+public final class PolygonValidator {
+
+    private static final int MIN_SEGMENT_COUNT = 4;
+
+    /**
+     * Reason of a polygon not being valid
+     */
+    public enum Reason {
+        /** The polygon has interior rings */
+        HOLES,
+        /** A coordinate of the exterior ring is NaN or infinite */
+        NON_FINITE_COORDINATE,
+        /** Two consecutive vertices of the exterior ring are equal */
+        REPEATED_VERTEX,
+        /** The exterior ring has less than 4 distinct vertices */
+        TOO_FEW_VERTICES,
+        /** The exterior ring crosses, touches or overlaps itself */
+        SELF_INTERSECTION
+    }
+
+    private PolygonValidator() {
+    }
+
+    /**
+     * @return result of validation, having the reason and the location of the first problem found if the polygon is not valid
+     */
+    public static Result validate(Polygon polygon) {
+        if (polygon.getNumInteriorRing() > 0) {
+            return Result.invalid(Reason.HOLES, polygon.getInteriorRingN(0).getCoordinateN(0));
+        }
+
+        CoordinateSequence ring = polygon.getExteriorRing().getCoordinateSequence();
+        int vertexCount = Math.max(ring.size() - 1, 0);          // the ring is closed, so the last vertex repeats the first one
+        double[] x = new double[vertexCount];
+        double[] y = new double[vertexCount];
+        double doubleArea = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            x[i] = ring.getX(i);
+            y[i] = ring.getY(i);
+            if (!Double.isFinite(x[i]) || !Double.isFinite(y[i])) {
+                return Result.invalid(Reason.NON_FINITE_COORDINATE, new Coordinate(x[i], y[i]));
+            }
+            if (i > 0 && x[i] == x[i - 1] && y[i] == y[i - 1]) {
+                return Result.invalid(Reason.REPEATED_VERTEX, new Coordinate(x[i], y[i]));
+            }
+            if (i > 0) {
+                doubleArea += (x[i - 1] - x[0]) * (y[i] - y[0]) - (x[i] - x[0]) * (y[i - 1] - y[0]);
+            }
+        }
+        if (vertexCount > 1 && x[vertexCount - 1] == x[0] && y[vertexCount - 1] == y[0]) {
+            return Result.invalid(Reason.REPEATED_VERTEX, new Coordinate(x[0], y[0]));
+        }
+        if (vertexCount < MIN_SEGMENT_COUNT) {
+            return Result.invalid(Reason.TOO_FEW_VERTICES, vertexCount > 0 ? new Coordinate(x[0], y[0]) : null);
+        }
+
+        int intersectingVertex = new SelfIntersectionSweep(x, y).findIntersection();
+        if (intersectingVertex >= 0) {
+            return Result.invalid(Reason.SELF_INTERSECTION, new Coordinate(x[intersectingVertex], y[intersectingVertex]));
+        }
+        return Result.valid(doubleArea > 0);
+    }
+
+    /**
+     * Result of validation of a polygon
+     */
+    public static final class Result {
+        private static final Result VALID_COUNTER_CLOCKWISE = new Result(null, null, true);
+        private static final Result VALID_CLOCKWISE = new Result(null, null, false);
+
+        private final Reason reason;
+        private final Coordinate location;
+        private final boolean counterClockwise;
+
+        private Result(Reason reason, Coordinate location, boolean counterClockwise) {
+            this.reason = reason;
+            this.location = location;
+            this.counterClockwise = counterClockwise;
+        }
+
+        private static Result valid(boolean counterClockwise) {
+            return counterClockwise ? VALID_COUNTER_CLOCKWISE : VALID_CLOCKWISE;
+        }
+
+        private static Result invalid(Reason reason, Coordinate location) {
+            return new Result(reason, location, false);
+        }
+
+        public boolean isValid() {
+            return reason == null;
+        }
+
+        /**
+         * @return reason of the polygon not being valid, or null if it is valid
+         */
+        public Reason getReason() {
+            return reason;
+        }
+
+        /**
+         * @return a vertex of the exterior ring at or next to the problem, or null if the polygon is valid
+         */
+        public Coordinate getLocation() {
+            return location;
+        }
+
+        /**
+         * @return true if the exterior ring of a valid polygon is oriented counter-clockwise, false if it is clockwise (or the polygon is not valid)
+         */
+        public boolean isCounterClockwise() {
+            return counterClockwise;
+        }
+
+        @Override
+        public String toString() {
+            return isValid() ? "VALID" : reason + " at " + location;
+        }
+    }
+
+    /**
+     * Shamos-Hoyos sweep over the segments of a ring, stopping at the first intersection.<br>
+     * Segment i goes from vertex i to vertex i + 1, its left endpoint is the lexicographically smaller one (by x, then by y).
+     * The sweep visits the vertices in lexicographic order, removes the segments ending there, checks if the vertex lies on some other
+     * segment, and inserts the segments starting there. Segments are tested against their neighbours in the sweep line whenever they become adjacent.
+     */
+    private static final class SelfIntersectionSweep {
+        private final double[] x;
+        private final double[] y;
+        private final int vertexCount;
+        private final int[] leftVertices;
+        private final int[] rightVertices;
+        private final TreeSet<Integer> sweepLine;
+        private int probedVertex;                               // vertex compared by PROBE
+
+        private static final int PROBE = -1;                    // stands for a zero-length segment at the probed vertex
+
+        SelfIntersectionSweep(double[] x, double[] y) {
+            this.x = x;
+            this.y = y;
+            this.vertexCount = x.length;
+            this.leftVertices = new int[vertexCount];
+            this.rightVertices = new int[vertexCount];
+            for (int segment = 0; segment < vertexCount; segment++) {
+                int end = getEndVertex(segment);
+                boolean startIsLeft = compareVertices(segment, end) < 0;
+                leftVertices[segment] = startIsLeft ? segment : end;
+                rightVertices[segment] = startIsLeft ? end : segment;
+            }
+            this.sweepLine = new TreeSet<>(this::compareSegments);
+        }
+
+        /**
+         * @return a vertex at or next to the first intersection found, or -1 if the ring is simple
+         */
+        int findIntersection() {
+            int[] vertices = getVerticesInSweepOrder();
+            for (int v = 1; v < vertexCount; v++) {
+                if (compareVertices(vertices[v - 1], vertices[v]) == 0) {
+                    return vertices[v];             // the ring touches itself at a vertex
+                }
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                if (isReversing(v)) {
+                    return v;                       // the ring goes back along itself
+                }
+            }
+
+            for (int vertex : vertices) {
+                int previousSegment = vertex > 0 ? vertex - 1 : vertexCount - 1;
+                int nextSegment = vertex;
+
+                // remove segments ending in the vertex
+                if (removeIfEndingIn(previousSegment, vertex) || removeIfEndingIn(nextSegment, vertex)) {
+                    return vertex;
+                }
+
+                // check if the vertex is in the interior of some other segment
+                probedVertex = vertex;
+                if (sweepLine.contains(PROBE)) {
+                    return vertex;
+                }
+
+                // insert segments starting in the vertex
+                if (insertIfStartingIn(previousSegment, vertex) || insertIfStartingIn(nextSegment, vertex)) {
+                    return vertex;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return true if the segment intersects one of its new neighbours
+         */
+        private boolean insertIfStartingIn(int segment, int vertex) {
+            if (getLeftVertex(segment) != vertex) {
+                return false;
+            }
+            if (!sweepLine.add(segment)) {
+                return true;            // the segment is collinear with one in the sweep line and overlaps it
+            }
+            Integer lower = sweepLine.lower(segment);
+            Integer higher = sweepLine.higher(segment);
+            return (lower != null && isIntersecting(lower, segment)) || (higher != null && isIntersecting(segment, higher));
+        }
+
+        /**
+         * @return true if the segments becoming neighbours intersect
+         */
+        private boolean removeIfEndingIn(int segment, int vertex) {
+            if (getRightVertex(segment) != vertex) {
+                return false;
+            }
+            Integer lower = sweepLine.lower(segment);
+            Integer higher = sweepLine.higher(segment);
+            sweepLine.remove(segment);
+            return lower != null && higher != null && isIntersecting(lower, higher);
+        }
+
+        /**
+         * Orders segments from bottom to top. For segments that do not intersect, the one having the later left endpoint is compared
+         * to the line of the other one, which gives the same order wherever both are crossed by the sweep line.
+         */
+        private int compareSegments(Integer segmentA, Integer segmentB) {
+            if (segmentA.intValue() == segmentB.intValue()) {
+                return 0;
+            }
+            if (segmentB == PROBE || (segmentA != PROBE && compareVertices(getLeftVertex(segmentA), getLeftVertex(segmentB)) < 0)) {
+                return -compareSegments(segmentB, segmentA);
+            }
+
+            // segmentA starts later (or is the probe), compare it to the line of segmentB
+            int left = getLeftVertex(segmentB);
+            int right = getRightVertex(segmentB);
+            int pointA = segmentA == PROBE ? probedVertex : getLeftVertex(segmentA);
+            int orientation = orientationIndex(left, right, pointA);
+            if (orientation == 0 && segmentA != PROBE) {
+                orientation = orientationIndex(left, right, getRightVertex(segmentA));
+            }
+            return orientation;
+        }
+
+        /**
+         * Tests segments which are neighbours in the sweep line. Adjacent segments of the ring share a vertex, so they only intersect
+         * if they are collinear and go back along each other, which is checked up front.
+         */
+        private boolean isIntersecting(int segmentA, int segmentB) {
+            if (segmentA == PROBE || segmentB == PROBE || isAdjacent(segmentA, segmentB)) {
+                return false;
+            }
+            int a0 = segmentA;
+            int a1 = getEndVertex(segmentA);
+            int b0 = segmentB;
+            int b1 = getEndVertex(segmentB);
+
+            int orientationOfB0 = orientationIndex(a0, a1, b0);
+            int orientationOfB1 = orientationIndex(a0, a1, b1);
+            if (orientationOfB0 * orientationOfB1 > 0) {
+                return false;
+            }
+            int orientationOfA0 = orientationIndex(b0, b1, a0);
+            int orientationOfA1 = orientationIndex(b0, b1, a1);
+            if (orientationOfA0 * orientationOfA1 > 0) {
+                return false;
+            }
+            if (orientationOfB0 == 0 && orientationOfB1 == 0) {
+                // collinear segments intersect if their extents overlap
+                return compareVertices(getLeftVertex(segmentA), getRightVertex(segmentB)) <= 0
+                        && compareVertices(getLeftVertex(segmentB), getRightVertex(segmentA)) <= 0;
+            }
+            return true;
+        }
+
+        private boolean isAdjacent(int segmentA, int segmentB) {
+            return getEndVertex(segmentA) == segmentB || getEndVertex(segmentB) == segmentA;
+        }
+
+        /**
+         * @return true if the segments before and after the vertex are collinear and point in opposite directions
+         */
+        private boolean isReversing(int vertex) {
+            int previous = vertex > 0 ? vertex - 1 : vertexCount - 1;
+            int next = getEndVertex(vertex);
+            if (orientationIndex(previous, vertex, next) != 0) {
+                return false;
+            }
+            double dot = (x[vertex] - x[previous]) * (x[next] - x[vertex]) + (y[vertex] - y[previous]) * (y[next] - y[vertex]);
+            return dot < 0;
+        }
+
+        private int[] getVerticesInSweepOrder() {
+            int[] vertices = new int[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                vertices[i] = i;
+            }
+            mergeSort(vertices, new int[vertexCount], 0, vertexCount);
+            return vertices;
+        }
+
+        private void mergeSort(int[] vertices, int[] buffer, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            mergeSort(vertices, buffer, from, middle);
+            mergeSort(vertices, buffer, middle, to);
+            System.arraycopy(vertices, from, buffer, from, to - from);
+            int left = from;
+            int right = middle;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < middle && compareVertices(buffer[left], buffer[right]) <= 0)) {
+                    vertices[i] = buffer[left++];
+                } else {
+                    vertices[i] = buffer[right++];
+                }
+            }
+        }
+
+        private int compareVertices(int vertexA, int vertexB) {
+            if (x[vertexA] != x[vertexB]) {
+                return x[vertexA] < x[vertexB] ? -1 : 1;
+            }
+            return y[vertexA] < y[vertexB] ? -1 : y[vertexA] > y[vertexB] ? 1 : 0;
+        }
+
+        private int getEndVertex(int segment) {
+            return segment + 1 < vertexCount ? segment + 1 : 0;
+        }
+
+        private int getLeftVertex(int segment) {
+            return leftVertices[segment];
+        }
+
+        private int getRightVertex(int segment) {
+            return rightVertices[segment];
+        }
+
+        private int orientationIndex(int p1, int p2, int q) {
+            return PrimitiveGeometry.orientationIndex(x[p1], y[p1], x[p2], y[p2], x[q], y[q]);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package de.incentergy.geometry.utils;
+
+import com.vividsolutions.jts.geom.Coordinate;
+
+/**
+ * Geometric predicates and measures on plain coordinates, for the hot path of the splitter.<br>
+ * None of the methods allocates: results which are points are written into a caller-supplied {@link Coordinate}, and the exact fallback of
+ * the orientation test keeps its double-double arithmetic in local variables.
+ * <p>
+ * Tests of a point being on a segment use the same tolerance as {@link GeometryUtils#equalWithinDelta(double, double)}:
+ * a point is on a segment if its distance to the segment is at most {@link GeometryUtils#DELTA}.
+ * The distance is compared using the cross and dot products, without any square roots.
+ */
+public final class PrimitiveGeometry {
+
+    private static final double DP_SAFE_EPSILON = 1e-15;        // error bound of the orientation filter, same as in JTS
+    private static final double SPLIT = 134217729.0;            // 2^27 + 1, splits a double into two halves for exact multiplication
+    private static final double DELTA_SQUARED = GeometryUtils.DELTA * GeometryUtils.DELTA;
+
+    private PrimitiveGeometry() {
+    }
+
+    /**
+     * Same as {@link com.vividsolutions.jts.algorithm.CGAlgorithms#orientationIndex(Coordinate, Coordinate, Coordinate)}.<br>
+     * The sign of the determinant is taken directly if it is safely away from zero, otherwise it is computed in double-double precision.
+     *
+     * @return 1 if q is to the left of p1-p2, -1 if it is to the right, 0 if it is collinear
+     */
+    public static int orientationIndex(double p1x, double p1y, double p2x, double p2y, double qx, double qy) {
+        double detLeft = (p1x - qx) * (p2y - qy);
+        double detRight = (p1y - qy) * (p2x - qx);
+        double det = detLeft - detRight;
+
+        double detSum;
+        if (detLeft > 0) {
+            if (detRight <= 0) {
+                return signum(det);
+            }
+            detSum = detLeft + detRight;
+        } else if (detLeft < 0) {
+            if (detRight >= 0) {
+                return signum(det);
+            }
+            detSum = -detLeft - detRight;
+        } else {
+            return signum(det);
+        }
+
+        double errorBound = DP_SAFE_EPSILON * detSum;
+        if (det >= errorBound || -det >= errorBound) {
+            return signum(det);
+        }
+        return orientationIndexDD(p1x, p1y, p2x, p2y, qx, qy);
+    }
+
+    /**
+     * Computes the orientation the same way as {@link com.vividsolutions.jts.algorithm.CGAlgorithmsDD}, i.e. the sign of
+     * {@code (p2x - p1x) * (qy - p2y) - (p2y - p1y) * (qx - p2x)} with the differences and products in double-double precision.
+     */
+    private static int orientationIndexDD(double p1x, double p1y, double p2x, double p2y, double qx, double qy) {
+        double dx1Hi = sumHi(p2x, -p1x);
+        double dx1Lo = sumLo(p2x, -p1x);
+        double dy1Hi = sumHi(p2y, -p1y);
+        double dy1Lo = sumLo(p2y, -p1y);
+        double dx2Hi = sumHi(qx, -p2x);
+        double dx2Lo = sumLo(qx, -p2x);
+        double dy2Hi = sumHi(qy, -p2y);
+        double dy2Lo = sumLo(qy, -p2y);
+
+        double leftHi = productHi(dx1Hi, dx1Lo, dy2Hi, dy2Lo);
+        double leftLo = productLo(dx1Hi, dx1Lo, dy2Hi, dy2Lo);
+        double rightHi = productHi(dy1Hi, dy1Lo, dx2Hi, dx2Lo);
+        double rightLo = productLo(dy1Hi, dy1Lo, dx2Hi, dx2Lo);
+
+        // difference of the products, same as DD#selfAdd(double, double) with the negated right product
+        double yHi = -rightHi;
+        double yLo = -rightLo;
+        double bigSum = leftHi + yHi;
+        double tailSum = leftLo + yLo;
+        double e = bigSum - leftHi;
+        double f = tailSum - leftLo;
+        double s = (yHi - e) + (leftHi - (bigSum - e));
+        double t = (yLo - f) + (leftLo - (tailSum - f));
+        e = s + tailSum;
+        double hi = bigSum + e;
+        double h = e + (bigSum - hi);
+        e = t + h;
+        double resultHi = hi + e;
+        double resultLo = e + (hi - resultHi);
+
+        int sign = signum(resultHi);
+        return sign != 0 ? sign : signum(resultLo);
+    }
+
+    // high part of the double-double sum of two doubles, same as DD.valueOf(a).selfAdd(b)
+    private static double sumHi(double a, double b) {
+        double bigSum = a + b;
+        double e = bigSum - a;
+        double s = (b - e) + (a - (bigSum - e));
+        double hi = bigSum + s;
+        double h = s + (bigSum - hi);
+        return hi + h;
+    }
+
+    private static double sumLo(double a, double b) {
+        double bigSum = a + b;
+        double e = bigSum - a;
+        double s = (b - e) + (a - (bigSum - e));
+        double hi = bigSum + s;
+        double h = s + (bigSum - hi);
+        return h + (hi - (hi + h));
+    }
+
+    // high part of the double-double product, same as DD#selfMultiply(double, double)
+    private static double productHi(double xHi, double xLo, double yHi, double yLo) {
+        double bigProduct = xHi * yHi;
+        return bigProduct + productTail(xHi, xLo, yHi, yLo, bigProduct);
+    }
+
+    private static double productLo(double xHi, double xLo, double yHi, double yLo) {
+        double bigProduct = xHi * yHi;
+        double tail = productTail(xHi, xLo, yHi, yLo, bigProduct);
+        return tail + (bigProduct - (bigProduct + tail));
+    }
+
+    private static double productTail(double xHi, double xLo, double yHi, double yLo, double bigProduct) {
+        double c = SPLIT * xHi;
+        double hx = c - (c - xHi);
+        double tx = xHi - hx;
+        double d = SPLIT * yHi;
+        double hy = d - (d - yHi);
+        double ty = yHi - hy;
+        return ((((hx * hy - bigProduct) + hx * ty) + tx * hy) + tx * ty) + (xHi * yLo + xLo * yHi);
+    }
+
+    private static int signum(double x) {
+        return x > 0 ? 1 : x < 0 ? -1 : 0;
+    }
+
+    /**
+     * Same as {@link com.vividsolutions.jts.geom.LineSegment#orientationIndex(com.vividsolutions.jts.geom.LineSegment)}, including its choice of
+     * {@code Math.max} for segments lying to the right.
+     *
+     * @return orientation of segment q0-q1 relative to p1-p2, or 0 if its endpoints are on different sides
+     */
+    public static int orientationIndex(double p1x, double p1y, double p2x, double p2y, double q0x, double q0y, double q1x, double q1y) {
+        int orientation0 = orientationIndex(p1x, p1y, p2x, p2y, q0x, q0y);
+        int orientation1 = orientationIndex(p1x, p1y, p2x, p2y, q1x, q1y);
+        if ((orientation0 >= 0 && orientation1 >= 0) || (orientation0 <= 0 && orientation1 <= 0)) {
+            return Math.max(orientation0, orientation1);
+        }
+        return 0;
+    }
+
+    /**
+     * Same as {@link Coordinate#distance(Coordinate)}.
+     */
+    public static double distance(double x0, double y0, double x1, double y1) {
+        double dx = x0 - x1;
+        double dy = y0 - y1;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Checks if the point is within {@link GeometryUtils#DELTA} of the segment going from (x0, y0) to (x1, y1).
+     */
+    public static boolean isPointOnSegment(double px, double py, double x0, double y0, double x1, double y1) {
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double ex = px - x0;
+        double ey = py - y0;
+
+        double dot = ex * dx + ey * dy;
+        if (dot <= 0) {
+            return ex * ex + ey * ey <= DELTA_SQUARED;                     // closest to the start point
+        }
+        double lengthSquared = dx * dx + dy * dy;
+        if (dot >= lengthSquared) {
+            return isWithinDelta(px, py, x1, y1);                          // closest to the end point
+        }
+        double cross = ex * dy - ey * dx;                                   // length of the segment times the distance to its line
+        return cross * cross <= DELTA_SQUARED * lengthSquared;
+    }
+
+    /**
+     * Checks if the point is on the segment (see {@link #isPointOnSegment(double, double, double, double, double, double)}),
+     * but not within {@link GeometryUtils#DELTA} of one of its endpoints.
+     */
+    public static boolean isPointOnSegmentExcludingEndpoints(double px, double py, double x0, double y0, double x1, double y1) {
+        if (isWithinDelta(px, py, x0, y0) || isWithinDelta(px, py, x1, y1)) {
+            return false;
+        }
+        return isPointOnSegment(px, py, x0, y0, x1, y1);
+    }
+
+    /**
+     * @return true if the distance between the points is at most {@link GeometryUtils#DELTA}
+     */
+    public static boolean isWithinDelta(double x0, double y0, double x1, double y1) {
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        return dx * dx + dy * dy <= DELTA_SQUARED;
+    }
+
+    /**
+     * Checks if two segments cross each other at a single point, which is in the interior of both of them.<br>
+     * The crossing is tested exactly, the same way as {@link com.vividsolutions.jts.algorithm.RobustLineIntersector} finds a proper intersection,
+     * but segments having an endpoint on the other segment (within {@link GeometryUtils#DELTA}) are considered to touch, not to cross.
+     * This way a segment ending on the other one is not reported as crossing it just because its computed endpoint is off by a rounding error.
+     */
+    public static boolean isProperIntersection(double p1x, double p1y, double p2x, double p2y, double q1x, double q1y, double q2x, double q2y) {
+        if (Math.min(q1x, q2x) > Math.max(p1x, p2x) || Math.max(q1x, q2x) < Math.min(p1x, p2x)
+                || Math.min(q1y, q2y) > Math.max(p1y, p2y) || Math.max(q1y, q2y) < Math.min(p1y, p2y)) {
+            return false;           // envelopes do not intersect
+        }
+
+        int orientationOfQ1 = orientationIndex(p1x, p1y, p2x, p2y, q1x, q1y);
+        int orientationOfQ2 = orientationIndex(p1x, p1y, p2x, p2y, q2x, q2y);
+        if (orientationOfQ1 == 0 || orientationOfQ1 != -orientationOfQ2) {
+            return false;
+        }
+        int orientationOfP1 = orientationIndex(q1x, q1y, q2x, q2y, p1x, p1y);
+        int orientationOfP2 = orientationIndex(q1x, q1y, q2x, q2y, p2x, p2y);
+        if (orientationOfP1 == 0 || orientationOfP1 != -orientationOfP2) {
+            return false;
+        }
+
+        return !isPointOnSegment(p1x, p1y, q1x, q1y, q2x, q2y) && !isPointOnSegment(p2x, p2y, q1x, q1y, q2x, q2y)
+                && !isPointOnSegment(q1x, q1y, p1x, p1y, p2x, p2y) && !isPointOnSegment(q2x, q2y, p1x, p1y, p2x, p2y);
+    }
+
+    /**
+     * Computes the point where two lines extending to infinity in both directions intersect,
+     * see {@link GeometryUtils#getIntersectionPoint(com.vividsolutions.jts.geom.LineSegment, com.vividsolutions.jts.geom.LineSegment)}.
+     *
+     * @param result receives the intersection point
+     * @return true if the lines intersect, false if they are parallel or overlap (result is not modified then)
+     */
+    public static boolean getIntersectionPoint(double ax0, double ay0, double ax1, double ay1, double bx0, double by0, double bx1, double by1, Coordinate result) {
+        double det1And2 = det(ax0, ay0, ax1, ay1);
+        double det3And4 = det(bx0, by0, bx1, by1);
+        double x1LessX2 = ax0 - ax1;
+        double y1LessY2 = ay0 - ay1;
+        double x3LessX4 = bx0 - bx1;
+        double y3LessY4 = by0 - by1;
+
+        double det1Less2And3Less4 = det(x1LessX2, y1LessY2, x3LessX4, y3LessY4);
+        if (det1Less2And3Less4 == 0) {
+            return false;
+        }
+
+        result.x = det(det1And2, x1LessX2, det3And4, x3LessX4) / det1Less2And3Less4;
+        result.y = det(det1And2, y1LessY2, det3And4, y3LessY4) / det1Less2And3Less4;
+        return true;
+    }
+
+    private static double det(double a, double b, double c, double d) {
+        return a * d - b * c;
+    }
+
+    /**
+     * Determines a projection of vertex on the opposing edge at an angle perpendicular to the angle bisector of the edges,
+     * see {@link GeometryUtils#getProjectedPoint(Coordinate, com.vividsolutions.jts.geom.LineSegment, GeometryUtils.IntersectionCoordinate)}.
+     *
+     * @param intersectionPoint point where the lines of the edges intersect, or null if they are parallel
+     * @param intersectionOnEdge true if the intersection point is on one of the edges (excluding endpoints)
+     * @param result receives the projected point
+     * @return true if the projection falls on the opposing edge, false otherwise (result may be modified then)
+     */
+    public static boolean getProjectedPoint(double vertexX, double vertexY, double opposingX0, double opposingY0, double opposingX1, double opposingY1,
+            Coordinate intersectionPoint, boolean intersectionOnEdge, Coordinate result) {
+        if (intersectionPoint == null) {
+            // In case of parallel lines, the projection is the closest point on the opposing line (same as LineSegment#project)
+            result.x = vertexX;
+            result.y = vertexY;
+            if ((vertexX != opposingX0 || vertexY != opposingY0) && (vertexX != opposingX1 || vertexY != opposingY1)) {
+                double dx = opposingX1 - opposingX0;
+                double dy = opposingY1 - opposingY0;
+                double projectionFactor = ((vertexX - opposingX0) * dx + (vertexY - opposingY0) * dy) / (dx * dx + dy * dy);
+                result.x = opposingX0 + projectionFactor * dx;
+                result.y = opposingY0 + projectionFactor * dy;
+            }
+            return isPointOnSegmentExcludingEndpoints(result.x, result.y, opposingX0, opposingY0, opposingX1, opposingY1);
+        }
+
+        double intersectionX = intersectionPoint.x;
+        double intersectionY = intersectionPoint.y;
+        double x0 = opposingX0;
+        double y0 = opposingY0;
+        double x1 = opposingX1;
+        double y1 = opposingY1;
+        if (intersectionOnEdge) {
+            // edge case - intersection point lies somewhere on one of the edges, see GeometryUtils#getProjectedPoint
+            // perpendicular line goes from intersection point to p0 of opposing edge rotated 90 degrees around it
+            double perpendicularX = -y0 + (intersectionX + intersectionY);
+            double perpendicularY = x0 + (intersectionY - intersectionX);
+            int orientationIndexOfVertex = orientationIndex(intersectionX, intersectionY, perpendicularX, perpendicularY, vertexX, vertexY);
+
+            if (isPointOnSegmentExcludingEndpoints(intersectionX, intersectionY, x0, y0, x1, y1)) {
+                // the intersection point is on the edge, shorten the edge to the part on the same side as the vertex
+                if (orientationIndexOfVertex == orientationIndex(intersectionX, intersectionY, perpendicularX, perpendicularY, x0, y0)) {
+                    x1 = intersectionX;
+                    y1 = intersectionY;
+                } else {
+                    x0 = intersectionX;
+                    y0 = intersectionY;
+                }
+            } else if (orientationIndexOfVertex != orientationIndex(intersectionX, intersectionY, perpendicularX, perpendicularY, x0, y0, x1, y1)) {
+                // projection of vertex is located somewhere on the opposite side of the intersection point (not on the edge)
+                return false;
+            }
+        }
+
+        // projection perpendicular to the angle bisector will be located an equal distance from intersection point
+        double distanceOfVertex = distance(vertexX, vertexY, intersectionX, intersectionY);
+        double distanceOfVertex0 = distance(intersectionX, intersectionY, x0, y0);
+        double distanceOfVertex1 = distance(intersectionX, intersectionY, x1, y1);
+        if (distanceOfVertex >= Math.max(distanceOfVertex0, distanceOfVertex1) || distanceOfVertex <= Math.min(distanceOfVertex0, distanceOfVertex1)) {
+            return false;           // the projection falls outside of the opposing edge (this also covers a projection matching the vertex)
+        }
+
+        boolean vertex0IsFurther = distanceOfVertex0 > distanceOfVertex1;
+        double furtherX = vertex0IsFurther ? x0 : x1;
+        double furtherY = vertex0IsFurther ? y0 : y1;
+        double fraction = distanceOfVertex / (vertex0IsFurther ? distanceOfVertex0 : distanceOfVertex1);
+        result.x = intersectionX + fraction * (furtherX - intersectionX);
+        result.y = intersectionY + fraction * (furtherY - intersectionY);
+        return true;
+    }
+
+    /**
+     * Same as {@link com.vividsolutions.jts.geom.Polygon#getArea()} of a triangle created from the vertices in the given order.
+     */
+    public static double getTriangleArea(double x0, double y0, double x1, double y1, double x2, double y2) {
+        double sum = (x1 - x0) * (y0 - y2);
+        sum += (x2 - x0) * (y1 - y0);
+        return Math.abs(sum / 2.0);
+    }
+
+    /**
+     * Same as {@link com.vividsolutions.jts.geom.Polygon#getArea()} of a quadrilateral created from the vertices in the given order.
+     */
+    public static double getQuadrilateralArea(double x0, double y0, double x1, double y1, double x2, double y2, double x3, double y3) {
+        double sum = (x1 - x0) * (y0 - y2);
+        sum += (x2 - x0) * (y1 - y3);
+        sum += (x3 - x0) * (y2 - y0);
+        return Math.abs(sum / 2.0);
+    }
+}
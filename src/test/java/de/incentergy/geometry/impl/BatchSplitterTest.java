@@ -0,0 +1,234 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.SplitJob;
+import de.incentergy.geometry.SplitResult;
+import de.incentergy.geometry.utils.PolygonGenerator;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+
+public class BatchSplitterTest {
+
+    @Test
+    public void resultsAreInTheOrderOfTheJobs() throws Exception {
+        List<SplitJob> jobs = createJobs(20);
+
+        List<SplitResult> results = new BatchSplitter(new GreedyPolygonSplitter()).withThreadCount(3).splitAll(jobs);
+
+        assertEquals(jobs.size(), results.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            SplitResult result = results.get(i);
+            assertEquals(i, result.getIndex());
+            assertEquals(jobs.get(i), result.getJob());
+            assertPartsEqual(new GreedyPolygonSplitter().split(jobs.get(i).getPolygon(), jobs.get(i).getParts()), result.getParts());
+        }
+    }
+
+    @Test
+    public void resultsArePassedOnAsTheJobsComplete() throws Exception {
+        List<SplitJob> jobs = createJobs(20);
+        TreeSet<Integer> indexes = new TreeSet<>();
+
+        new BatchSplitter(new GreedyPolygonSplitter()).withThreadCount(2).splitAll(jobs.iterator(), result -> {
+            assertTrue(result.isSuccessful());
+            assertTrue("Result of job " + result.getIndex() + " is passed on once", indexes.add(result.getIndex()));
+        });
+
+        assertEquals(jobs.size(), indexes.size());
+        assertEquals(jobs.size() - 1, (int) indexes.last());
+    }
+
+    @Test
+    public void failingJobsDoNotAffectTheOtherOnes() throws Exception {
+        Polygon selfIntersecting = (Polygon) new WKTReader().read("POLYGON ((0 0, 10 10, 10 0, 0 10, 0 0))");
+        Polygon square = (Polygon) new WKTReader().read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+        List<SplitJob> jobs = new ArrayList<>();
+        jobs.add(new SplitJob(square, 2));
+        jobs.add(new SplitJob(selfIntersecting, 2));
+        jobs.add(new SplitJob(square, 1));
+        jobs.add(new SplitJob(square, 4));
+
+        List<SplitResult> results = new BatchSplitter(new GreedyPolygonSplitter()).withThreadCount(2).splitAll(jobs);
+
+        assertTrue(results.get(0).isSuccessful());
+        assertFalse(results.get(1).isSuccessful());
+        assertTrue(results.get(1).getFailure() instanceof IllegalArgumentException);
+        assertTrue(results.get(1).getParts().isEmpty());
+        assertFalse(results.get(2).isSuccessful());
+        assertEquals(4, results.get(3).getParts().size());
+    }
+
+    @Test
+    public void givenExecutorServiceIsNotShutDown() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            BatchSplitter batchSplitter = new BatchSplitter(new GreedyPolygonSplitter()).withExecutorService(executorService);
+
+            assertEquals(5, batchSplitter.splitAll(createJobs(5)).size());
+            assertFalse(executorService.isShutdown());
+            assertEquals(5, batchSplitter.splitAll(createJobs(5)).size());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void reusedScratchGivesTheSameParts() throws Exception {
+        GreedyPolygonSplitter splitter = new GreedyPolygonSplitter();
+        SplitScratch scratch = new SplitScratch();
+        for (SplitJob job : createJobs(20)) {
+            assertPartsEqual(splitter.split(job.getPolygon(), job.getParts()), splitter.split(job.getPolygon(), job.getParts(), scratch, null));
+        }
+    }
+
+    @Test
+    public void mostExpensiveJobsAreStartedFirst() throws Exception {
+        List<SplitJob> jobs = createJobs(10);
+        List<Long> predictedNanos = new ArrayList<>();
+
+        // a single thread completes the jobs in the order they are started
+        new BatchSplitter(new GreedyPolygonSplitter()).withThreadCount(1).splitAll(jobs.iterator(),
+                result -> predictedNanos.add(result.getPredictedNanos()));
+
+        assertEquals(jobs.size(), predictedNanos.size());
+        for (int i = 1; i < predictedNanos.size(); i++) {
+            assertTrue(predictedNanos.get(i - 1) >= predictedNanos.get(i));
+        }
+        assertEquals(jobs.stream().mapToLong(BatchSplitter::estimateNanos).max().getAsLong(), (long) predictedNanos.get(0));
+    }
+
+    @Test
+    public void costModelDecidesTheOrder() throws Exception {
+        List<SplitJob> jobs = createJobs(10);
+        List<Integer> indexes = new ArrayList<>();
+
+        new BatchSplitter(new GreedyPolygonSplitter()).withThreadCount(1).withCostModel(job -> -job.getPolygon().getNumPoints())
+                .splitAll(jobs.iterator(), result -> indexes.add(result.getIndex()));
+
+        for (int i = 0; i < jobs.size(); i++) {
+            assertEquals(i, (int) indexes.get(i));
+        }
+    }
+
+    @Test
+    public void predictedAndActualTimesAreReported() throws Exception {
+        Polygon selfIntersecting = (Polygon) new WKTReader().read("POLYGON ((0 0, 10 10, 10 0, 0 10, 0 0))");
+        List<SplitJob> jobs = createJobs(5);
+        jobs.add(new SplitJob(selfIntersecting, 2));
+
+        List<SplitResult> results = new BatchSplitter(new GreedyPolygonSplitter()).withThreadCount(2).splitAll(jobs);
+
+        for (SplitResult result : results) {
+            assertEquals(BatchSplitter.estimateNanos(result.getJob()), result.getPredictedNanos());
+            assertTrue(result.getActualNanos() > 0);
+        }
+        assertFalse(results.get(5).isSuccessful());
+    }
+
+    @Test
+    public void expensiveJobsSplitByAllThreadsGiveTheSameParts() throws Exception {
+        List<SplitJob> jobs = createJobs(10);
+
+        List<SplitResult> results = new BatchSplitter(new GreedyPolygonSplitter()).withThreadCount(2).withParallelSplitThreshold(0).splitAll(jobs);
+
+        for (int i = 0; i < jobs.size(); i++) {
+            assertPartsEqual(new GreedyPolygonSplitter().split(jobs.get(i).getPolygon(), jobs.get(i).getParts()), results.get(i).getParts());
+        }
+    }
+
+    @Test
+    public void expensiveJobsSplitByAllThreadsRunAlone() throws Exception {
+        AtomicInteger runningJobCount = new AtomicInteger();
+        AtomicInteger maxRunningJobCount = new AtomicInteger();
+        GreedyPolygonSplitter splitter = new GreedyPolygonSplitter() {
+            @Override
+            List<Polygon> split(Polygon originalPolygon, int numberOfParts, SplitScratch scratch, ForkJoinPool forkJoinPool) {
+                maxRunningJobCount.accumulateAndGet(runningJobCount.incrementAndGet(), Math::max);
+                try {
+                    return super.split(originalPolygon, numberOfParts, scratch, forkJoinPool);
+                } finally {
+                    runningJobCount.decrementAndGet();
+                }
+            }
+        };
+        List<SplitJob> jobs = createJobs(10);
+
+        List<SplitResult> results = new BatchSplitter(splitter).withThreadCount(3).withParallelSplitThreshold(0).splitAll(jobs);
+
+        assertEquals(jobs.size(), results.size());
+        assertEquals(1, maxRunningJobCount.get());
+    }
+
+    @Test
+    public void expensiveJobsSearchedOnASingleThreadAreNotSplitByAllThreads() throws Exception {
+        AtomicInteger parallelJobCount = new AtomicInteger();
+        GreedyPolygonSplitter splitter = new GreedyPolygonSplitter() {
+            @Override
+            List<Polygon> split(Polygon originalPolygon, int numberOfParts, SplitScratch scratch, ForkJoinPool forkJoinPool) {
+                if (forkJoinPool != null) {
+                    parallelJobCount.incrementAndGet();
+                }
+                return super.split(originalPolygon, numberOfParts, scratch, forkJoinPool);
+            }
+        };
+        PolygonGenerator generator = new PolygonGenerator(11);
+        List<SplitJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            jobs.add(new SplitJob(generator.generate(Shape.CONVEX, 20 + i * 4), 3));
+            jobs.add(new SplitJob(generator.generate(Shape.RECTILINEAR, 20 + i * 4), 3));
+        }
+
+        List<SplitResult> results = new BatchSplitter(splitter).withThreadCount(3).withParallelSplitThreshold(0).splitAll(jobs);
+
+        for (SplitResult result : results) {
+            assertTrue(result.isSuccessful());
+        }
+        assertEquals(0, parallelJobCount.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeParallelSplitThresholdIsRejected() throws Exception {
+        new BatchSplitter(new GreedyPolygonSplitter()).withParallelSplitThreshold(-1);
+    }
+
+    /**
+     * @return jobs which split successfully, of increasing vertex count
+     */
+    private static List<SplitJob> createJobs(int count) {
+        List<SplitJob> jobs = new ArrayList<>();
+        PolygonGenerator generator = new PolygonGenerator(7);
+        while (jobs.size() < count) {
+            Polygon polygon = generator.generate(Shape.SPIRAL, 10 + jobs.size() * 2);
+            SplitJob job = new SplitJob(polygon, 2 + jobs.size() % 3);
+            try {
+                new GreedyPolygonSplitter().split(job.getPolygon(), job.getParts());
+                jobs.add(job);
+            } catch (IllegalStateException e) {
+                // the greedy algorithm finds no cut for some polygons
+            }
+        }
+        return jobs;
+    }
+
+    private static void assertPartsEqual(List<Polygon> expected, List<Polygon> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i).equalsExact(actual.get(i)));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class CheckpointTest {
+
+    @Test
+    public void passedDeadlineStaysReached() throws Exception {
+        Checkpoint checkpoint = Checkpoint.after(0, TimeUnit.NANOSECONDS);
+
+        assertFalse(checkpoint.wasReached());
+        assertTrue(checkpoint.isReached());
+        assertTrue(checkpoint.wasReached());
+        checkpoint.throwIfCancelled();              // a passed deadline is no cancellation
+    }
+
+    @Test
+    public void deadlineInTheFutureIsNotReached() throws Exception {
+        Checkpoint checkpoint = Checkpoint.after(1, TimeUnit.HOURS);
+
+        assertFalse(checkpoint.isReached());
+        assertFalse(checkpoint.wasReached());
+    }
+
+    @Test
+    public void unboundedCheckpointsAreNeverReached() throws Exception {
+        assertFalse(Checkpoint.NONE.isReached());
+        assertFalse(Checkpoint.after(Long.MAX_VALUE, TimeUnit.DAYS).isReached());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeBudgetIsRejected() throws Exception {
+        Checkpoint.after(-1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void futureIsCompletedByTheSplit() throws Exception {
+        CompletableFuture<Boolean> future = Checkpoint.supplyAsync(Checkpoint::isReached, Runnable::run);
+
+        assertFalse(future.get());
+    }
+
+    @Test
+    public void cancellingTheFutureReachesTheCheckpoint() throws Exception {
+        AtomicReference<CompletableFuture<Boolean>> future = new AtomicReference<>();
+        List<Runnable> tasks = new ArrayList<>();
+        future.set(Checkpoint.supplyAsync(checkpoint -> {
+            future.get().cancel(false);
+            assertTrue(checkpoint.isReached());
+            checkpoint.throwIfCancelled();
+            return false;
+        }, tasks::add));
+
+        tasks.get(0).run();
+
+        assertTrue(future.get().isCancelled());
+    }
+
+    @Test
+    public void interruptingTheWorkerCancelsTheSplit() throws Exception {
+        CompletableFuture<Boolean> future = Checkpoint.supplyAsync(checkpoint -> {
+            Thread.currentThread().interrupt();
+            try {
+                assertTrue(checkpoint.isReached());
+                checkpoint.throwIfCancelled();
+                return false;
+            } finally {
+                Thread.interrupted();
+            }
+        }, Runnable::run);
+
+        try {
+            future.get();
+            fail("Split was not cancelled");
+        } catch (CancellationException e) {
+            assertEquals("Split was cancelled", e.getMessage());
+        }
+    }
+
+    @Test
+    public void splitCancelledBeforeItStartsIsNotRun() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        CompletableFuture<Boolean> future = Checkpoint.supplyAsync(checkpoint -> {
+            throw new AssertionError("Cancelled split was run");
+        }, tasks::add);
+
+        future.cancel(false);
+        tasks.get(0).run();
+
+        assertTrue(future.isCancelled());
+    }
+}
@@ -185,8 +185,8 @@ public class EdgePairTest {
 
             List<Cut> cuts = edgePair.getSubpolygons().getCuts(PARALLEL_TRAPEZOID, areaToCutOff);
             assertEquals("Expected cut count", 2, cuts.size());
-            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, cuts.get(0));
-            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, cuts.get(1));
+            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, PARALLEL_TRAPEZOID, cuts.get(0));
+            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, PARALLEL_TRAPEZOID, cuts.get(1));
         }
 
         @Test
@@ -198,8 +198,8 @@ public class EdgePairTest {
 
             List<Cut> cuts = edgePair.getSubpolygons().getCuts(PARALLEL_TRAPEZOID, areaToCutOff);
             assertEquals("Expected cut count", 2, cuts.size());
-            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, cuts.get(0));
-            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, cuts.get(1));
+            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, PARALLEL_TRAPEZOID, cuts.get(0));
+            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, PARALLEL_TRAPEZOID, cuts.get(1));
         }
 
         @Test
@@ -211,8 +211,8 @@ public class EdgePairTest {
 
             List<Cut> cuts = edgePair.getSubpolygons().getCuts(PARALLEL_TRAPEZOID, areaToCutOff);
             assertEquals("Expected cut count", 2, cuts.size());
-            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, cuts.get(0));
-            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, cuts.get(1));
+            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, PARALLEL_TRAPEZOID, cuts.get(0));
+            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, PARALLEL_TRAPEZOID, cuts.get(1));
         }
 
         // Test cases for edges with adjacent area on both sides
@@ -228,8 +228,8 @@ public class EdgePairTest {
 
             List<Cut> cuts = edgePair.getSubpolygons().getCuts(polygon, areaToCutOff);
             assertEquals("Expected cut count", 2, cuts.size());
-            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, cuts.get(0));
-            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, cuts.get(1));
+            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, polygon, cuts.get(0));
+            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, polygon, cuts.get(1));
         }
 
         @Test
@@ -242,8 +242,8 @@ public class EdgePairTest {
 
             List<Cut> cuts = edgePair.getSubpolygons().getCuts(polygon, areaToCutOff);
             assertEquals("Expected cut count", 2, cuts.size());
-            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, cuts.get(0));
-            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, cuts.get(1));
+            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, polygon, cuts.get(0));
+            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, polygon, cuts.get(1));
         }
 
         @Test
@@ -257,14 +257,15 @@ public class EdgePairTest {
 
             List<Cut> cuts = edgePair.getSubpolygons().getCuts(polygon, areaToCutOff);
             assertEquals("Expected cut count", 2, cuts.size());
-            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, cuts.get(0));
-            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, cuts.get(1));
+            assertCutEquals(expectedLengthOfCut, expectedCut1Shape, areaToCutOff, polygon, cuts.get(0));
+            assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, polygon, cuts.get(1));
         }
 
-        private void assertCutEquals(double expectedCutLength, Polygon expectedCutawayShape, double expectedCutawayArea, Cut actualCut) {
+        private void assertCutEquals(double expectedCutLength, Polygon expectedCutawayShape, double expectedCutawayArea, Polygon polygon, Cut actualCut) {
+            Polygon actualCutaway = actualCut.getCutAway(polygon);
             assertEquals("Expected cut length", expectedCutLength, actualCut.getLength(), EXACT_PRECISION);
-            assertTrue("Expected cutaway shape", expectedCutawayShape.equalsTopo(actualCut.getCutAway()));
-            assertEquals("Expected cutaway area", expectedCutawayArea, actualCut.getCutAway().getArea(), SMALL_DELTA_PRECISION);
+            assertTrue("Expected cutaway shape", expectedCutawayShape.equalsTopo(actualCutaway));
+            assertEquals("Expected cutaway area", expectedCutawayArea, actualCutaway.getArea(), SMALL_DELTA_PRECISION);
         }
     }
 }
@@ -0,0 +1,250 @@
+package de.incentergy.geometry.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.utils.PolygonGenerator;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+import de.incentergy.geometry.utils.PrimitiveGeometry;
+
+/**
+ * Corpus of generated polygons along with the outcome of splitting them by {@link GreedyPolygonSplitter}: the areas of the parts and the
+ * lengths of the cuts, or the exception the split failed with. Rectilinear polygons are searched by edge pairs as well, see
+ * {@link #createSplitter()}.<br>
+ * Every entry is one line of {@value #RESOURCE_NAME}, which is regenerated by running {@link #main(String[])}, e.g. after a change of the
+ * output of the splitter which is intended.
+ */
+final class GoldenCorpus {
+
+    static final String RESOURCE_NAME = "golden-corpus.txt";
+    private static final String DEFAULT_PATH = "src/test/resources/de/incentergy/geometry/impl/" + RESOURCE_NAME;
+
+    private static final int ENTRIES_PER_SHAPE = 200;
+    private static final int MAX_ADDITIONAL_VERTICES = 40;
+    private static final int MAX_PARTS = 6;
+
+    private GoldenCorpus() {
+    }
+
+    /**
+     * @return splitter of the corpus, which searches edge pairs for all polygons, so that the rectilinear and comb shapes keep covering the
+     *         options of the search instead of the cuts parallel to the axes
+     */
+    static GreedyPolygonSplitter createSplitter() {
+        return new GreedyPolygonSplitter().withRectilinearCuts(false);
+    }
+
+    /**
+     * Regenerates the corpus
+     *
+     * @param args path of the corpus file, by default the one in the test resources of this project
+     */
+    public static void main(String[] args) throws IOException {
+        String path = args.length > 0 ? args[0] : DEFAULT_PATH;
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8))) {
+            writer.println("# Generated by " + GoldenCorpus.class.getName() + ", do not edit");
+            writer.println("# <shape> <vertex count> <seed> <parts> areas <area of every part> cuts <length of every cut>");
+            writer.println("# <shape> <vertex count> <seed> <parts> fails <exception>");
+            long seed = 0;
+            for (Shape shape : Shape.values()) {
+                for (int i = 0; i < ENTRIES_PER_SHAPE; i++, seed++) {
+                    Random random = new Random(seed);
+                    int vertexCount = shape.getMinimumVertexCount() + random.nextInt(MAX_ADDITIONAL_VERTICES);
+                    if (shape == Shape.RECTILINEAR) {
+                        vertexCount &= ~1;
+                    }
+                    int parts = 2 + random.nextInt(MAX_PARTS - 1);
+                    writer.println(Entry.compute(shape, vertexCount, seed, parts, createSplitter()));
+                }
+            }
+        }
+    }
+
+    static List<Entry> read() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (InputStream stream = GoldenCorpus.class.getResourceAsStream(RESOURCE_NAME);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    entries.add(Entry.parse(line));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Lengths of the cuts, in the order of the parts they cut off.<br>
+     * Part {@code i} is bounded by the original polygon, by the cuts before it and by cut {@code i}, so the length of cut {@code i} is the
+     * length of its boundary which is on neither of the former.
+     */
+    static double[] getCutLengths(Polygon originalPolygon, List<Polygon> parts) {
+        Coordinate[] originalRing = originalPolygon.getExteriorRing().getCoordinates();
+        List<Coordinate[]> cutSegments = new ArrayList<>();
+        double[] cutLengths = new double[parts.size() - 1];
+        for (int i = 0; i < cutLengths.length; i++) {
+            Coordinate[] ring = parts.get(i).getExteriorRing().getCoordinates();
+            List<Coordinate[]> newCutSegments = new ArrayList<>();
+            for (int j = 0; j < ring.length - 1; j++) {
+                Coordinate start = ring[j];
+                Coordinate end = ring[j + 1];
+                if (!isOnRing(start, end, originalRing) && !isOnAnySegment(start, end, cutSegments)) {
+                    cutLengths[i] += start.distance(end);
+                    newCutSegments.add(new Coordinate[] { start, end });
+                }
+            }
+            cutSegments.addAll(newCutSegments);
+        }
+        return cutLengths;
+    }
+
+    private static boolean isOnRing(Coordinate start, Coordinate end, Coordinate[] ring) {
+        for (int i = 0; i < ring.length - 1; i++) {
+            if (isOnSegment(start, end, ring[i], ring[i + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOnAnySegment(Coordinate start, Coordinate end, List<Coordinate[]> segments) {
+        for (Coordinate[] segment : segments) {
+            if (isOnSegment(start, end, segment[0], segment[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOnSegment(Coordinate start, Coordinate end, Coordinate segmentStart, Coordinate segmentEnd) {
+        return PrimitiveGeometry.isPointOnSegment(start.x, start.y, segmentStart.x, segmentStart.y, segmentEnd.x, segmentEnd.y)
+                && PrimitiveGeometry.isPointOnSegment(end.x, end.y, segmentStart.x, segmentStart.y, segmentEnd.x, segmentEnd.y);
+    }
+
+    static final class Entry {
+
+        private static final String AREAS = "areas";
+        private static final String CUTS = "cuts";
+        private static final String FAILS = "fails";
+
+        final Shape shape;
+        final int vertexCount;
+        final long seed;
+        final int parts;
+        final double[] areas;
+        final double[] cutLengths;
+        final String failure;
+
+        private Entry(Shape shape, int vertexCount, long seed, int parts, double[] areas, double[] cutLengths, String failure) {
+            this.shape = shape;
+            this.vertexCount = vertexCount;
+            this.seed = seed;
+            this.parts = parts;
+            this.areas = areas;
+            this.cutLengths = cutLengths;
+            this.failure = failure;
+        }
+
+        static Entry compute(Shape shape, int vertexCount, long seed, int parts, PolygonSplitter splitter) {
+            Polygon polygon = createPolygon(shape, vertexCount, seed);
+            List<Polygon> polygonParts;
+            try {
+                polygonParts = splitter.split(polygon, parts);
+            } catch (RuntimeException e) {
+                return new Entry(shape, vertexCount, seed, parts, null, null, e.getClass().getSimpleName());
+            }
+            double[] areas = polygonParts.stream().mapToDouble(Polygon::getArea).toArray();
+            return new Entry(shape, vertexCount, seed, parts, areas, getCutLengths(polygon, polygonParts), null);
+        }
+
+        static Entry parse(String line) {
+            String[] tokens = line.split(" ");
+            Shape shape = Shape.valueOf(tokens[0]);
+            int vertexCount = Integer.parseInt(tokens[1]);
+            long seed = Long.parseLong(tokens[2]);
+            int parts = Integer.parseInt(tokens[3]);
+            if (FAILS.equals(tokens[4])) {
+                return new Entry(shape, vertexCount, seed, parts, null, null, tokens[5]);
+            }
+            if (!AREAS.equals(tokens[4]) || !CUTS.equals(tokens[5 + parts]) || tokens.length != 5 + 2 * parts) {
+                throw new IllegalArgumentException("Malformed corpus entry: " + line);
+            }
+            double[] areas = new double[parts];
+            double[] cutLengths = new double[parts - 1];
+            for (int i = 0; i < parts; i++) {
+                areas[i] = Double.parseDouble(tokens[5 + i]);
+            }
+            for (int i = 0; i < parts - 1; i++) {
+                cutLengths[i] = Double.parseDouble(tokens[6 + parts + i]);
+            }
+            return new Entry(shape, vertexCount, seed, parts, areas, cutLengths, null);
+        }
+
+        Polygon createPolygon() {
+            return createPolygon(shape, vertexCount, seed);
+        }
+
+        private static Polygon createPolygon(Shape shape, int vertexCount, long seed) {
+            return new PolygonGenerator(seed).generate(shape, vertexCount);
+        }
+
+        /**
+         * @return true if the outcome is the same, with areas and lengths equal up to a relative tolerance
+         */
+        boolean isEquivalentTo(Entry other, double tolerance) {
+            if (failure != null || other.failure != null) {
+                return failure != null && failure.equals(other.failure);
+            }
+            return areEqual(areas, other.areas, tolerance) && areEqual(cutLengths, other.cutLengths, tolerance);
+        }
+
+        private static boolean areEqual(double[] expected, double[] actual, double tolerance) {
+            if (expected.length != actual.length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (Math.abs(expected[i] - actual[i]) > tolerance * Math.max(1, Math.abs(expected[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(shape).append(' ').append(vertexCount).append(' ').append(seed).append(' ').append(parts);
+            if (failure != null) {
+                return builder.append(' ').append(FAILS).append(' ').append(failure).toString();
+            }
+            builder.append(' ').append(AREAS);
+            for (double area : areas) {
+                builder.append(' ').append(format(area));
+            }
+            builder.append(' ').append(CUTS);
+            for (double cutLength : cutLengths) {
+                builder.append(' ').append(format(cutLength));
+            }
+            return builder.toString();
+        }
+
+        private static String format(double value) {
+            return String.format(Locale.ROOT, "%.10g", value);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.impl.GoldenCorpus.Entry;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+
+public class GoldenCorpusTest {
+
+    private static final double TOLERANCE = 1e-6;
+    private static final int MAX_REPORTED_MISMATCHES = 10;
+
+    @Test
+    public void splitsAreEquivalentToTheCorpus() throws Exception {
+        List<Entry> entries = GoldenCorpus.read();
+        assertTrue(entries.size() >= 1000);
+
+        List<String> mismatches = new ArrayList<>();
+        for (Entry expected : entries) {
+            Entry actual = Entry.compute(expected.shape, expected.vertexCount, expected.seed, expected.parts, GoldenCorpus.createSplitter());
+            if (!expected.isEquivalentTo(actual, TOLERANCE)) {
+                mismatches.add("expected: " + expected + "\n  actual: " + actual);
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            fail(mismatches.size() + " of " + entries.size() + " splits differ from the corpus, e.g.\n"
+                    + String.join("\n", mismatches.subList(0, Math.min(MAX_REPORTED_MISMATCHES, mismatches.size()))));
+        }
+    }
+
+    @Test
+    public void rectilinearPolygonsOfTheCorpusAreCutIntoEqualAreas() throws Exception {
+        for (Entry expected : GoldenCorpus.read()) {
+            if (expected.shape != Shape.RECTILINEAR) {
+                continue;
+            }
+            Entry actual = Entry.compute(expected.shape, expected.vertexCount, expected.seed, expected.parts, new GreedyPolygonSplitter());
+
+            assertNull(actual.failure);
+            double totalArea = Arrays.stream(actual.areas).sum();
+            for (double area : actual.areas) {
+                assertEquals(totalArea / actual.areas.length, area, totalArea * TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void cutLengthsOfThreeParts() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 30 0, 30 10, 0 10, 0 0))");
+        List<Polygon> parts = Arrays.asList(
+                (Polygon) new WKTReader().read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))"),
+                (Polygon) new WKTReader().read("POLYGON ((10 0, 20 0, 20 10, 10 10, 10 0))"),
+                (Polygon) new WKTReader().read("POLYGON ((20 0, 30 0, 30 10, 20 10, 20 0))"));
+
+        assertArrayEquals(new double[] { 10, 10 }, GoldenCorpus.getCutLengths(polygon, parts), 0);
+    }
+
+    @Test
+    public void entryIsParsedFromItsString() throws Exception {
+        Entry entry = Entry.parse("STAR 12 7 3 areas 10.00000000 20.00000000 30.00000000 cuts 1.500000000 2.500000000");
+
+        assertEquals(entry.toString(), Entry.parse(entry.toString()).toString());
+        assertArrayEquals(new double[] { 10, 20, 30 }, entry.areas, 0);
+        assertArrayEquals(new double[] { 1.5, 2.5 }, entry.cutLengths, 0);
+        assertEquals("IllegalStateException", Entry.parse("COMB 8 1 2 fails IllegalStateException").failure);
+    }
+}
@@ -0,0 +1,88 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.impl.EdgePair.EdgePairSubpolygons;
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+
+public class IndexedEdgePairTest {
+
+    @Test
+    public void cutsOfLShapedPolygon() throws Exception {
+        assertSameCutsAsEdgePair((Polygon) new WKTReader().read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))"));
+    }
+
+    @Test
+    public void cutsOfTrapezium() throws Exception {
+        assertSameCutsAsEdgePair((Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))"));
+    }
+
+    @Test
+    public void cutsOfIrregularPolygon() throws Exception {
+        assertSameCutsAsEdgePair((Polygon) new WKTReader().read("POLYGON ((0 0, 50 -10, 100 0, 90 50, 50 60, 10 50, 0 0))"));
+        assertSameCutsAsEdgePair((Polygon) new WKTReader().read("POLYGON ((0 0, 5 30, 20 30, 20 15, 10 20, 10 10, 0 0))"));
+    }
+
+    @Test
+    public void cutsOfStar() throws Exception {
+        List<Coordinate> vertices = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            double angle = 2 * Math.PI * i / 14;
+            double radius = i % 2 == 0 ? 100 : 40;
+            vertices.add(new Coordinate(radius * Math.cos(angle), radius * Math.sin(angle)));
+        }
+        assertSameCutsAsEdgePair(GeometryFactoryUtils.createPolygon(vertices.toArray(new Coordinate[vertices.size()])));
+    }
+
+    /**
+     * Evaluates all edge pairs for several areas to cut away and checks that the cuts (or the failed sanity check) are exactly the ones of {@link EdgePair}.
+     */
+    private static void assertSameCutsAsEdgePair(Polygon polygon) {
+        RingIndex ring = new RingIndex(polygon);
+        IndexedEdgePair indexedEdgePair = new IndexedEdgePair();
+        double[] cuts = new double[IndexedEdgePair.MAX_CUTS_SIZE];
+
+        for (int parts = 2; parts <= 7; parts++) {
+            double singlePartArea = polygon.getArea() / parts;
+            for (int i = 0; i < ring.size() - 2; i++) {
+                for (int j = i + 2; j < ring.size() && j - i + 1 < ring.size(); j++) {
+                    EdgePairSubpolygons subpolygons = new EdgePair(ring.getSegment(i), ring.getSegment(j)).getSubpolygons();
+                    indexedEdgePair.set(ring, i, j);
+                    assertEquals(subpolygons.getTotalArea(), indexedEdgePair.getTotalArea(), 0);
+
+                    List<String> expectedCuts = new ArrayList<>();
+                    try {
+                        for (Cut cut : subpolygons.getCuts(ring, singlePartArea, true)) {
+                            expectedCuts.add(cut.getLineOfCut().toString() + " " + cut.getLength());
+                        }
+                    } catch (IllegalStateException e) {
+                        expectedCuts.add("sanity check failed");
+                    }
+
+                    List<String> actualCuts = new ArrayList<>();
+                    try {
+                        int cutCount = indexedEdgePair.getCuts(ring, i, j, singlePartArea, cuts, true);
+                        for (int c = 0; c < cutCount; c++) {
+                            Cut cut = IndexedEdgePair.createCut(cuts, c);
+                            assertEquals(cut.getLength(), IndexedEdgePair.getCutLength(cuts, c), 0);
+                            actualCuts.add(cut.getLineOfCut().toString() + " " + cut.getLength());
+                        }
+                    } catch (IllegalStateException e) {
+                        actualCuts.add("sanity check failed");
+                    }
+
+                    assertEquals("Edge pair " + i + ", " + j + " of " + parts + " parts", expectedCuts, actualCuts);
+                }
+            }
+        }
+    }
+}
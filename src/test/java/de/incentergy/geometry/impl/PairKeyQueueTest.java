@@ -0,0 +1,107 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import de.incentergy.geometry.utils.PolygonGenerator;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+
+public class PairKeyQueueTest {
+
+    private final RingIndex ring = new RingIndex(new PolygonGenerator(7).generate(Shape.STAR, 30));
+
+    @Test
+    public void pollsTheKeysOfAllPairsInOrder() throws Exception {
+        long[] expectedKeys = getSortedKeysOfAllPairs();
+        PairKeyQueue queue = new PairKeyQueue(ring, new long[PairKeyQueue.getKeyCount(ring.size())]);
+        for (int row = 0; row < queue.getRowCount(); row++) {
+            queue.fillRow(row);
+        }
+        queue.addFilledRows();
+
+        assertEquals(expectedKeys.length, PairKeyQueue.getKeyCount(ring.size()));
+        assertArrayEquals(expectedKeys, pollAll(queue, expectedKeys.length));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void rowsHoldingChunksOfTheirKeysAreFilledAgainWhenTheChunksRunOut() throws Exception {
+        long[] expectedKeys = getSortedKeysOfAllPairs();
+        for (int chunkLength : new int[] { 1, 4 }) {
+            int keyCount = PairKeyQueue.getKeyCount(ring.size(), chunkLength);
+            PairKeyQueue queue = new PairKeyQueue(ring, new long[keyCount], chunkLength);
+            for (int row = 0; row < queue.getRowCount(); row++) {
+                queue.fillRow(row);
+            }
+            queue.addFilledRows();
+
+            assertTrue(keyCount <= queue.getRowCount() * chunkLength);
+            assertArrayEquals(expectedKeys, pollAll(queue, expectedKeys.length));
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void rowsWhichAreNotFilledAreLeftOut() throws Exception {
+        PairKeyQueue queue = new PairKeyQueue(ring, new long[PairKeyQueue.getKeyCount(ring.size())]);
+        queue.fillRow(3);
+        queue.addFilledRows();
+
+        long[] expectedKeys = new long[ring.size() - 5];
+        for (int j = 5; j < ring.size(); j++) {
+            expectedKeys[j - 5] = PairKeyQueue.getPairKey(ring, 3, j);
+        }
+        Arrays.sort(expectedKeys);
+        assertArrayEquals(expectedKeys, pollAll(queue, expectedKeys.length));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void givenKeysAreSortedWithoutRepetition() throws Exception {
+        long[] keys = { PairKeyQueue.getPairKey(ring, 5, 9), PairKeyQueue.getPairKey(ring, 0, 2), PairKeyQueue.getPairKey(ring, 5, 9) };
+        long[] expectedKeys = { keys[0], keys[1] };
+        Arrays.sort(expectedKeys);
+
+        PairKeyQueue queue = PairKeyQueue.of(ring, keys, keys.length);
+
+        assertArrayEquals(expectedKeys, pollAll(queue, 2));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void keyHoldsTheLowerBoundAndTheIndexOfThePair() throws Exception {
+        long key = PairKeyQueue.getPairKey(ring, 5, 9);
+
+        assertEquals(5 * ring.size() + 9, PairKeyQueue.getPairIndex(key));
+        double distance = ring.getSegment(5).distance(ring.getSegment(9));
+        assertTrue(PairKeyQueue.getLowerBound(key) <= distance);
+        assertEquals(distance, PairKeyQueue.getLowerBound(key), distance * 1e-6);
+    }
+
+    private long[] getSortedKeysOfAllPairs() {
+        int segmentCount = ring.size();
+        long[] keys = new long[segmentCount * segmentCount];
+        int keyCount = 0;
+        for (int i = 0; i < segmentCount - 2; i++) {
+            for (int j = i + 2; j < segmentCount && !(i == 0 && j == segmentCount - 1); j++) {
+                keys[keyCount++] = PairKeyQueue.getPairKey(ring, i, j);
+            }
+        }
+        keys = Arrays.copyOf(keys, keyCount);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static long[] pollAll(PairKeyQueue queue, int keyCount) {
+        long[] keys = new long[keyCount];
+        for (int k = 0; k < keyCount; k++) {
+            keys[k] = queue.poll();
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,84 @@
+package de.incentergy.geometry.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+public class PartsVerifierTest {
+
+    private static final String SQUARE = "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))";
+
+    @Test
+    public void exactPartsPassEveryVerification() throws Exception {
+        Polygon polygon = read(SQUARE);
+        List<Polygon> parts = Arrays.asList(read("POLYGON ((0 0, 0 10, 5 10, 5 0, 0 0))"), read("POLYGON ((5 0, 5 10, 10 10, 10 0, 5 0))"));
+
+        for (Verification verification : Verification.values()) {
+            PartsVerifier.verify(polygon, parts, verification);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingAreaFailsCheapVerification() throws Exception {
+        Polygon polygon = read(SQUARE);
+        List<Polygon> parts = Arrays.asList(read("POLYGON ((0 0, 0 10, 5 10, 5 0, 0 0))"));
+
+        PartsVerifier.verify(polygon, parts, Verification.CHEAP);
+    }
+
+    @Test
+    public void missingAreaPassesNoVerification() throws Exception {
+        Polygon polygon = read(SQUARE);
+        List<Polygon> parts = Arrays.asList(read("POLYGON ((0 0, 0 10, 5 10, 5 0, 0 0))"));
+
+        PartsVerifier.verify(polygon, parts, Verification.NONE);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingVertexFailsCheapVerification() throws Exception {
+        Polygon polygon = read(SQUARE);
+        // same area, but the corners (10 10) and (10 0) are replaced
+        List<Polygon> parts = Arrays.asList(read("POLYGON ((0 0, 0 10, 5 10, 5 0, 0 0))"), read("POLYGON ((5 0, 5 10, 11 10, 9 0, 5 0))"));
+
+        PartsVerifier.verify(polygon, parts, Verification.CHEAP);
+    }
+
+    @Test
+    public void overlappingPartsPassCheapVerification() throws Exception {
+        Polygon polygon = read(SQUARE);
+        List<Polygon> parts = getOverlappingParts();
+
+        PartsVerifier.verify(polygon, parts, Verification.CHEAP);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void overlappingPartsFailSampledVerification() throws Exception {
+        Polygon polygon = read(SQUARE);
+        List<Polygon> parts = getOverlappingParts();
+
+        PartsVerifier.verify(polygon, parts, Verification.SAMPLED);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void overlappingPartsFailFullVerification() throws Exception {
+        Polygon polygon = read(SQUARE);
+        List<Polygon> parts = getOverlappingParts();
+
+        PartsVerifier.verify(polygon, parts, Verification.FULL);
+    }
+
+    /**
+     * Vertices and total area are the same as the ones of the square, but the parts overlap below y = 5 and leave a gap above it
+     */
+    private static List<Polygon> getOverlappingParts() throws Exception {
+        return Arrays.asList(read("POLYGON ((0 0, 0 10, 4 10, 4 5, 6 5, 6 0, 0 0))"), read("POLYGON ((5 0, 5 10, 10 10, 10 0, 5 0))"));
+    }
+
+    private static Polygon read(String wkt) throws Exception {
+        return (Polygon) new WKTReader().read(wkt);
+    }
+}
@@ -1,19 +1,43 @@
 package de.incentergy.geometry.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.junit.Test;
 
+import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.geom.Polygon;
 import com.vividsolutions.jts.io.WKTReader;
 
+import de.incentergy.geometry.BudgetedSplit;
 import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.PolygonGenerator;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
 
 public class PolygonSplitterTest {
 
+    static final long STOP_SECONDS = 2;            // the splits of the large star take seconds longer if they are not stopped
+    private static final long SORT_STOP_MILLIS = 500;      // a row of pair keys takes about a millisecond, all of them seconds
+
     private final PolygonSplitter polygonSplitter = new GreedyPolygonSplitter();
+    // the options of the search of edge pairs are compared on rectilinear polygons, which are otherwise cut parallel to the axes
+    private final PolygonSplitter edgePairSplitter = new GreedyPolygonSplitter().withRectilinearCuts(false);
 
     @Test
     public void splitTrapeziumInHalf() throws Exception {
@@ -23,7 +47,7 @@ public class PolygonSplitterTest {
 
         assertEquals(2, parts.size());
         assertPolygonEquals("POLYGON ((50 0, 100 0, 90 50, 50 50, 50 0))", parts.get(0));
-        assertPolygonEquals("POLYGON ((50 0, 0 0, 10 50, 50 50, 50 0))", parts.get(1));
+        assertPolygonEquals("POLYGON ((50 50, 10 50, 0 0, 50 0, 50 50))", parts.get(1));
     }
 
     @Test
@@ -37,7 +61,7 @@ public class PolygonSplitterTest {
         assertPolygonEquals("POLYGON ((0 20, 0 30, 10 30, 10 20, 0 20))", parts.get(0));
         assertPolygonEquals("POLYGON ((0 10, 0 20, 10 20, 10 10, 0 10))", parts.get(1));
         assertPolygonEquals("POLYGON ((10 10, 20 10, 20 0, 10 0, 10 10))", parts.get(2));
-        assertPolygonEquals("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))", parts.get(3));
+        assertPolygonEquals("POLYGON ((10 0, 0 0, 0 10, 10 10, 10 0))", parts.get(3));
     }
 
     @Test
@@ -55,6 +79,308 @@ public class PolygonSplitterTest {
         assertEquals(expectedPartArea, parts.get(2).getArea(), expectedDelta);
     }
 
+    @Test
+    public void splitWithoutPreparedContainment() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        List<Polygon> expectedParts = edgePairSplitter.split(polygon, 4);
+        List<Polygon> parts = new GreedyPolygonSplitter().withRectilinearCuts(false).withPreparedContainment(false).split(polygon, 4);
+
+        assertEquals(expectedParts, parts);
+    }
+
+    @Test
+    public void splitWithOverlayDifference() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        List<Polygon> splicedParts = edgePairSplitter.split(polygon, 4);
+        List<Polygon> parts = new GreedyPolygonSplitter().withRectilinearCuts(false).withOverlayDifference(true).split(polygon, 4);
+
+        assertEquals(splicedParts.size(), parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+            assertTrue(splicedParts.get(i).equalsNorm(parts.get(i)));
+        }
+    }
+
+    @Test
+    public void splitInParallel() throws Exception {
+        Polygon polygon = createStaircase(16, 10);
+
+        List<Polygon> expectedParts = edgePairSplitter.split(polygon, 3);
+        List<Polygon> parts = new GreedyPolygonSplitter().withRectilinearCuts(false).withForkJoinPool(ForkJoinPool.commonPool()).split(polygon, 3);
+
+        assertEquals(expectedParts, parts);
+    }
+
+    @Test
+    public void parallelSearchGivesTheSamePartsAsSequentialSearch() throws Exception {
+        // the time of both searches is compared by ParallelSplitBenchmark
+        Polygon polygon = new PolygonGenerator(1).generate(Shape.SPIRAL, 400);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            List<Polygon> parts = new GreedyPolygonSplitter().withForkJoinPool(forkJoinPool).split(polygon, 5);
+
+            assertEquals(polygonSplitter.split(polygon, 5), parts);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void splitWithoutPruning() throws Exception {
+        Polygon polygon = createStaircase(16, 10);
+
+        List<Polygon> expectedParts = edgePairSplitter.split(polygon, 3);
+        List<Polygon> parts = new GreedyPolygonSplitter().withRectilinearCuts(false).withPruning(false).split(polygon, 3);
+
+        assertEquals(expectedParts, parts);
+    }
+
+    @Test
+    public void splitWithoutConvexWindows() throws Exception {
+        PolygonGenerator generator = new PolygonGenerator(13);
+        for (int i = 0; i < 20; i++) {
+            Polygon polygon = generator.generate(Shape.CONVEX, 8 + i * 4);
+            int parts = 2 + i % 5;
+
+            assertSameResult(() -> new GreedyPolygonSplitter().withConvexWindows(false).split(polygon, parts), () -> polygonSplitter.split(polygon, parts));
+        }
+    }
+
+    @Test
+    public void splitRectilinearPolygonsParallelToTheAxes() throws Exception {
+        PolygonGenerator generator = new PolygonGenerator(17);
+        PolygonSplitter verifyingSplitter = new GreedyPolygonSplitter().withVerification(Verification.FULL);
+        for (int i = 0; i < 20; i++) {
+            Polygon polygon = generator.generate(Shape.RECTILINEAR, 8 + i * 4);
+
+            List<Polygon> parts = verifyingSplitter.split(polygon, 2 + i % 5);
+
+            for (Polygon part : parts) {
+                assertEquals(polygon.getArea() / parts.size(), part.getArea(), polygon.getArea() * 1e-9);
+                assertTrue(RectilinearRing.isRectilinear(part.getExteriorRing().getCoordinates()));
+            }
+        }
+    }
+
+    @Test
+    public void splitWithinBudget() throws Exception {
+        Polygon polygon = new PolygonGenerator(19).generate(Shape.CONVEX, 40);
+
+        BudgetedSplit split = polygonSplitter.split(polygon, 5, 1, TimeUnit.MINUTES);
+
+        assertFalse(split.isApproximate());
+        assertEquals(polygonSplitter.split(polygon, 5), split.getParts());
+    }
+
+    @Test
+    public void splitIntoStripsWhenTheBudgetRunsOut() throws Exception {
+        Polygon polygon = new PolygonGenerator(19).generate(Shape.CONVEX, 40);
+
+        BudgetedSplit split = new GreedyPolygonSplitter().withVerification(Verification.FULL).split(polygon, 5, 0, TimeUnit.NANOSECONDS);
+
+        assertTrue(split.isApproximate());
+        assertEquals(5, split.getParts().size());
+        for (Polygon part : split.getParts()) {
+            assertEquals(polygon.getArea() / 5, part.getArea(), polygon.getArea() * 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void budgetRunningOutIsReportedForPolygonWhichCanNotBeSplitIntoStrips() throws Exception {
+        // the arms of a star are cut more than once by strips in every direction
+        Polygon polygon = new PolygonGenerator(2).generate(Shape.STAR, 40);
+
+        polygonSplitter.split(polygon, 5, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Test
+    public void searchForCutOfPolygonWhichHasNoneStopsWhenTheBudgetRunsOut() throws Exception {
+        // no edge pair of the large star has a cut of a tenth of its area, so the search would evaluate all of them
+        Polygon polygon = createLargeStar();
+
+        long start = System.nanoTime();
+        try {
+            polygonSplitter.split(polygon, 10, 50, TimeUnit.MILLISECONDS);
+            fail("Star is cut more than once by strips in every direction");
+        } catch (IllegalStateException e) {
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(STOP_SECONDS));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeBudgetIsRejected() throws Exception {
+        polygonSplitter.split(createStaircase(4, 10), 2, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void splitAsynchronously() throws Exception {
+        Polygon polygon = new PolygonGenerator(19).generate(Shape.CONVEX, 40);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(polygonSplitter.split(polygon, 5), polygonSplitter.splitAsync(polygon, 5, executor).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void cancellingTheFutureStopsTheSplit() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CompletableFuture<List<Polygon>> future = polygonSplitter.splitAsync(createLargeStar(), 10, startingOn(executor, started));
+            started.await();
+
+            future.cancel(true);
+
+            assertTrue(future.isCancelled());
+            // the worker is free as soon as the split has stopped
+            executor.submit(() -> { }).get(STOP_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void interruptingTheWorkerStopsTheSplit() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<List<Polygon>> future = polygonSplitter.splitAsync(createLargeStar(), 10, startingOn(executor, started));
+        started.await();
+
+        executor.shutdownNow();
+
+        assertTrue(executor.awaitTermination(STOP_SECONDS, TimeUnit.SECONDS));
+        assertTrue(future.handle((parts, failure) -> failure).get() instanceof CancellationException);
+    }
+
+    @Test
+    public void cancellingTheFutureStopsTheSortOfPairKeys() throws Exception {
+        // the ~18 million pair keys of the ring are sorted in rows, of which the queue holds chunks of 8 MB in total
+        Polygon polygon = new PolygonGenerator(1).generate(Shape.STAR, 6000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Thread worker = executor.submit(Thread::currentThread).get();
+            CompletableFuture<List<Polygon>> future = polygonSplitter.splitAsync(polygon, 10, executor);
+            awaitCall(worker, PairKeyQueue.class, "fillRow", future);
+
+            future.cancel(true);
+
+            executor.submit(() -> { }).get(SORT_STOP_MILLIS, TimeUnit.MILLISECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void cancellingTheFutureStopsTheParallelSearch() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CompletableFuture<List<Polygon>> future = new GreedyPolygonSplitter().withForkJoinPool(forkJoinPool)
+                    .splitAsync(createLargeStar(), 10, startingOn(executor, started));
+            started.await();
+
+            future.cancel(true);
+
+            executor.submit(() -> { }).get(STOP_SECONDS, TimeUnit.SECONDS);
+            assertTrue(forkJoinPool.awaitQuiescence(STOP_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void splitWithEachVerification() throws Exception {
+        Polygon polygon = createStaircase(16, 10);
+
+        List<Polygon> expectedParts = edgePairSplitter.split(polygon, 3);
+        for (Verification verification : Verification.values()) {
+            List<Polygon> parts = new GreedyPolygonSplitter().withRectilinearCuts(false).withVerification(verification).split(polygon, 3);
+
+            assertEquals(expectedParts, parts);
+        }
+    }
+
+    @Test
+    public void splitWithFullVerificationAndOverlayDifference() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 50 -10, 100 0, 90 50, 50 60, 10 50, 0 0))");
+
+        List<Polygon> parts = new GreedyPolygonSplitter().withVerification(Verification.FULL).withOverlayDifference(true).split(polygon, 3);
+
+        assertEquals(3, parts.size());
+    }
+
+    /**
+     * Asserts that both splits produce the same parts, or both fail to find a cut
+     */
+    private static void assertSameResult(Supplier<List<Polygon>> expectedSplit, Supplier<List<Polygon>> split) {
+        List<Polygon> expectedParts;
+        try {
+            expectedParts = expectedSplit.get();
+        } catch (IllegalStateException e) {
+            try {
+                split.get();
+                fail("Expected " + e.getMessage());
+            } catch (IllegalStateException expected) {
+                // the greedy algorithm finds no cut for some polygons
+            }
+            return;
+        }
+        assertEquals(expectedParts, split.get());
+    }
+
+    /**
+     * Creates a staircase-shaped polygon with steps descending from the top left corner to the bottom right one
+     */
+    private static Polygon createStaircase(int stepCount, double stepSize) {
+        List<Coordinate> vertices = new ArrayList<>();
+        vertices.add(new Coordinate(0, 0));
+        vertices.add(new Coordinate(0, stepCount * stepSize));
+        for (int i = 1; i <= stepCount; i++) {
+            vertices.add(new Coordinate(i * stepSize, (stepCount - i + 1) * stepSize));
+            vertices.add(new Coordinate(i * stepSize, (stepCount - i) * stepSize));
+        }
+        vertices.remove(vertices.size() - 1);       // the last step ends on the base line
+        vertices.add(new Coordinate(stepCount * stepSize, 0));
+        return GeometryFactoryUtils.createPolygon(vertices.toArray(new Coordinate[vertices.size()]));
+    }
+
+    /**
+     * @return polygon whose split searches edge pairs for seconds
+     */
+    static Polygon createLargeStar() {
+        return new PolygonGenerator(1).generate(Shape.STAR, 2000);
+    }
+
+    /**
+     * Waits until the thread is in a call of the method, failing if the future is done before
+     */
+    private static void awaitCall(Thread thread, Class<?> type, String methodName, Future<?> future) throws InterruptedException {
+        while (!future.isDone()) {
+            for (StackTraceElement element : thread.getStackTrace()) {
+                if (element.getClassName().equals(type.getName()) && element.getMethodName().equals(methodName)) {
+                    return;
+                }
+            }
+            Thread.sleep(1);
+        }
+        fail("Future is done before " + type.getSimpleName() + "." + methodName + " was called");
+    }
+
+    /**
+     * @return executor which counts the latch down when it starts a task
+     */
+    static Executor startingOn(Executor executor, CountDownLatch started) {
+        return task -> executor.execute(() -> {
+            started.countDown();
+            task.run();
+        });
+    }
+
     private static void assertPolygonEquals(String expectedPolygonWkt, Polygon actual) {
         assertEquals(expectedPolygonWkt, actual.toString());
     }
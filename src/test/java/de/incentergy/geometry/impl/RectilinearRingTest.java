@@ -0,0 +1,77 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+public class RectilinearRingTest {
+
+    @Test
+    public void rectilinearRings() throws Exception {
+        WKTReader wktReader = new WKTReader();
+
+        assertTrue(RectilinearRing.isRectilinear(wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))").getCoordinates()));
+        assertTrue(RectilinearRing.isRectilinear(wktReader.read("POLYGON ((0 0, 10 0, 20 0, 20 10, 0 10, 0 0))").getCoordinates()));
+        assertFalse(RectilinearRing.isRectilinear(wktReader.read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))").getCoordinates()));
+    }
+
+    @Test
+    public void cutAcrossTheLongerSide() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 70 0, 70 10, 0 10, 0 0))");
+
+        Polygon[] pieces = new RectilinearRing(polygon).cut(100);
+
+        assertEquals(100, pieces[0].getArea(), 1e-9);
+        assertEquals(600, pieces[1].getArea(), 1e-9);
+        assertEquals(new Envelope(60, 70, 0, 10), pieces[0].getEnvelopeInternal());
+    }
+
+    @Test
+    public void cutOfClockwiseRing() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 0 10, 70 10, 70 0, 0 0))");
+
+        Polygon[] pieces = new RectilinearRing(polygon).cut(100);
+
+        assertEquals(100, pieces[0].getArea(), 1e-9);
+        assertEquals(new Envelope(60, 70, 0, 10), pieces[0].getEnvelopeInternal());
+    }
+
+    @Test
+    public void cutAlongEdgesOfTheRing() throws Exception {
+        // the line at the inner corner runs on to the right, where the polygon is below it only
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 30 0, 30 10, 10 10, 10 20, 0 20, 0 0))");
+
+        Polygon[] pieces = new RectilinearRing(polygon).cut(300);
+
+        assertEquals(300, pieces[0].getArea(), 1e-9);
+        assertEquals(new Envelope(0, 30, 0, 10), pieces[0].getEnvelopeInternal());
+        assertEquals(new Envelope(0, 10, 10, 20), pieces[1].getEnvelopeInternal());
+    }
+
+    @Test
+    public void linesCrossingThePolygonTwiceAreSkipped() throws Exception {
+        // U shape: the horizontal cuts of the area go through both arms
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 30 0, 30 100, 20 100, 20 10, 10 10, 10 100, 0 100, 0 0))");
+
+        Polygon[] pieces = new RectilinearRing(polygon).cut(700);
+
+        assertEquals(700, pieces[0].getArea(), 1e-9);
+        assertEquals(new Envelope(23, 30, 0, 100), pieces[0].getEnvelopeInternal());
+    }
+
+    @Test
+    public void noCutIfEveryLineCrossesThePolygonTwice() throws Exception {
+        // square with two prongs on every side: the lines cutting away less than the prongs go through both of them
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((10 10, 10 0, 13 0, 13 10, 27 10, 27 0, 30 0, 30 10, 40 10, 40 13, 30 13, "
+                + "30 27, 40 27, 40 30, 30 30, 30 40, 27 40, 27 30, 13 30, 13 40, 10 40, 10 30, 0 30, 0 27, 10 27, 10 13, 0 13, 0 10, 10 10))");
+
+        assertNull(new RectilinearRing(polygon).cut(30));
+    }
+}
@@ -0,0 +1,160 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.BudgetedSplit;
+import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.utils.PolygonGenerator;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+
+public class RecursiveBisectionSplitterTest {
+
+    private final PolygonSplitter polygonSplitter = new RecursiveBisectionSplitter();
+
+    @Test
+    public void splitInTwoIsTheSameAsTheGreedyOne() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+
+        assertPartsEqual(new GreedyPolygonSplitter().split(polygon, 2), polygonSplitter.split(polygon, 2));
+    }
+
+    @Test
+    public void splitRectangleInOddNumberOfParts() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 70 0, 70 10, 0 10, 0 0))");
+
+        List<Polygon> parts = polygonSplitter.split(polygon, 7);
+
+        assertEquals(7, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(100, part.getArea(), 1e-9);
+            assertEquals(10, part.getEnvelopeInternal().getWidth(), 1e-9);
+        }
+    }
+
+    @Test
+    public void splitInHundredsOfParts() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 3000 0, 3000 10, 0 10, 0 0))");
+
+        List<Polygon> parts = polygonSplitter.split(polygon, 300);
+
+        assertEquals(300, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(100, part.getArea(), 1e-6);
+        }
+    }
+
+    @Test
+    public void splitNearlyTriangularPolygonInHalf() throws Exception {
+        // halving requires a cut between the two long edges, which are adjacent
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((-61.4 0.3, 59.1 0.4, 58.3 41, 43.3 43.3, -61.4 0.3))");
+
+        List<Polygon> parts = polygonSplitter.split(polygon, 2);
+
+        assertEquals(2, parts.size());
+        assertEquals(polygon.getArea() / 2, parts.get(0).getArea(), 1e-9);
+        assertEquals(polygon.getArea() / 2, parts.get(1).getArea(), 1e-9);
+    }
+
+    @Test
+    public void partsDoNotDependOnThePool() throws Exception {
+        PolygonGenerator generator = new PolygonGenerator(3);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(1);
+        try {
+            PolygonSplitter sequentialSplitter = new RecursiveBisectionSplitter().withForkJoinPool(forkJoinPool);
+            for (int i = 0; i < 10; i++) {
+                Polygon polygon = generator.generate(Shape.CONVEX, 12);
+                assertPartsEqual(sequentialSplitter.split(polygon, 5), polygonSplitter.split(polygon, 5));
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void partsMakeUpTheOriginalPolygon() throws Exception {
+        PolygonGenerator generator = new PolygonGenerator(5);
+        PolygonSplitter verifyingSplitter = new RecursiveBisectionSplitter(new GreedyPolygonSplitter().withVerification(Verification.FULL));
+        for (int i = 0; i < 10; i++) {
+            Polygon polygon = generator.generate(Shape.CONVEX, 12);
+
+            List<Polygon> parts = verifyingSplitter.split(polygon, 6);
+
+            double totalArea = 0;
+            for (Polygon part : parts) {
+                totalArea += part.getArea();
+            }
+            assertEquals(polygon.getArea(), totalArea, polygon.getArea() * 1e-9);
+        }
+    }
+
+    @Test
+    public void splitWithinBudget() throws Exception {
+        Polygon polygon = new PolygonGenerator(5).generate(Shape.CONVEX, 12);
+
+        BudgetedSplit split = polygonSplitter.split(polygon, 6, 1, TimeUnit.MINUTES);
+
+        assertFalse(split.isApproximate());
+        assertPartsEqual(polygonSplitter.split(polygon, 6), split.getParts());
+    }
+
+    @Test
+    public void splitIntoStripsWhenTheBudgetRunsOut() throws Exception {
+        Polygon polygon = new PolygonGenerator(5).generate(Shape.CONVEX, 12);
+
+        BudgetedSplit split = polygonSplitter.split(polygon, 6, 0, TimeUnit.NANOSECONDS);
+
+        assertTrue(split.isApproximate());
+        assertEquals(6, split.getParts().size());
+        for (Polygon part : split.getParts()) {
+            assertEquals(polygon.getArea() / 6, part.getArea(), polygon.getArea() * 1e-9);
+        }
+    }
+
+    @Test
+    public void cancellingTheFutureStopsAllPieces() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CompletableFuture<List<Polygon>> future = new RecursiveBisectionSplitter().withForkJoinPool(forkJoinPool)
+                    .splitAsync(PolygonSplitterTest.createLargeStar(), 10, PolygonSplitterTest.startingOn(executor, started));
+            started.await();
+
+            future.cancel(true);
+
+            assertTrue(future.isCancelled());
+            executor.submit(() -> { }).get(PolygonSplitterTest.STOP_SECONDS, TimeUnit.SECONDS);
+            assertTrue(forkJoinPool.awaitQuiescence(PolygonSplitterTest.STOP_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidNumberOfPartsIsRejected() throws Exception {
+        polygonSplitter.split((Polygon) new WKTReader().read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))"), 1);
+    }
+
+    private static void assertPartsEqual(List<Polygon> expected, List<Polygon> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i).equalsExact(actual.get(i)));
+        }
+    }
+}
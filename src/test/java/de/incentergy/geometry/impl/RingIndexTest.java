@@ -0,0 +1,84 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+
+public class RingIndexTest {
+
+    @Test
+    public void indexOfSegments() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+        RingIndex ring = new RingIndex(polygon);
+
+        assertEquals(6, ring.size());
+        assertEquals(0, ring.indexOf(new LineSegment(0, 0, 0, 30)));
+        assertEquals(3, ring.indexOf(new LineSegment(10, 10, 20, 10)));
+        assertEquals(5, ring.indexOf(new LineSegment(20, 0, 0, 0)));
+        assertEquals(-1, ring.indexOf(new LineSegment(0, 30, 0, 0)));        // reversed segment is not part of the ring
+    }
+
+    @Test
+    public void segmentCounts() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+        RingIndex ring = new RingIndex(polygon);
+
+        assertEquals(1, ring.getSegmentCountBetween(0, 2));
+        assertEquals(3, ring.getSegmentCountOutside(0, 2));
+        assertEquals(4, ring.getSegmentCountBetween(0, 5));
+        assertEquals(0, ring.getSegmentCountOutside(0, 5));
+    }
+
+    @Test
+    public void indexedIntersectionMatchesLinearScan() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+        RingIndex linearRing = new RingIndex(polygon, false, false);
+        RingIndex indexedRing = new RingIndex(polygon, false, true);
+
+        LineSegment crossingLine = new LineSegment(5, 20, 15, 20);          // crosses edge (10 30, 10 10)
+        LineSegment touchingLine = new LineSegment(0, 10, 10, 10);          // ends on the ring
+        LineSegment innerLine = new LineSegment(2, 2, 8, 8);
+
+        assertTrue(linearRing.isIntersecting(crossingLine));
+        assertTrue(indexedRing.isIntersecting(crossingLine));
+        assertFalse(linearRing.isIntersecting(touchingLine));
+        assertFalse(indexedRing.isIntersecting(touchingLine));
+        assertFalse(linearRing.isIntersecting(innerLine));
+        assertFalse(indexedRing.isIntersecting(innerLine));
+    }
+
+    @Test
+    public void subpolygonAreaMatchesSubpolygon() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((1000000 0, 1000050 1, 1000100 0, 1000090 50, 1000010 50, 1000000 0))");
+        RingIndex ring = new RingIndex(polygon);
+
+        for (int start = 0; start < ring.size(); start++) {
+            for (int end = 0; end < ring.size(); end++) {
+                if ((end - start + ring.size()) % ring.size() < 2) {
+                    continue;           // at least 3 vertices are needed for a polygon
+                }
+                Polygon subpolygon = GeometryFactoryUtils.getSubpolygon(polygon, ring.getSegment(start).p0, ring.getSegment(end).p0);
+                assertEquals(subpolygon.getArea(), ring.getSubpolygonArea(start, end), 1e-9);
+                assertTrue(subpolygon.equalsExact(ring.getSubpolygon(start, end)));
+            }
+        }
+    }
+
+    @Test
+    public void convexity() throws Exception {
+        WKTReader wktReader = new WKTReader();
+
+        assertTrue(new RingIndex((Polygon) wktReader.read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))")).isConvex());
+        assertTrue(new RingIndex((Polygon) wktReader.read("POLYGON ((0 0, 10 50, 90 50, 100 0, 0 0))")).isConvex());      // clockwise
+        assertTrue(new RingIndex((Polygon) wktReader.read("POLYGON ((0 0, 50 0, 100 0, 90 50, 10 50, 0 0))")).isConvex());  // collinear vertex
+        assertFalse(new RingIndex((Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))")).isConvex());
+    }
+}
@@ -0,0 +1,143 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.impl.GoldenCorpus.Entry;
+import de.incentergy.geometry.utils.AllocationMeter;
+
+/**
+ * Bytes allocated by the split pipeline, measured on polygons of the {@link GoldenCorpus} and compared to budgets per vertex or per edge pair.
+ * <br>
+ * The budgets of whole splits and of edge pairs producing cuts leave room for the allocations of JTS containment checks, which vary
+ * between polygons by an order of magnitude, so they only catch gross regressions. Evaluation of the edge pairs themselves does not
+ * allocate, neither in {@link IndexedEdgePair} nor in the searches of {@link GreedyPolygonSplitter}, so any allocation per pair there is a
+ * regression. {@link EdgePair} builds a few small objects for every pair, which is measured without any containment check, so its budget
+ * is tight.
+ */
+public class SplitAllocationTest {
+
+    private static final long SPLIT_BYTES_PER_VERTEX_AND_PART = 48 * 1024;              // up to ~40 KB measured, mostly containment checks
+    private static final long SEARCH_BYTES_PER_VERTEX = 640;                             // up to ~520 B measured, the index of the ring
+    private static final long EDGE_PAIR_BYTES_PER_EDGE_PAIR = 872;                      // up to 858 B measured, less than a LineSegment more
+    private static final long INDEXED_EDGE_PAIR_CUTS_BYTES_PER_EDGE_PAIR = 36 * 1024;   // up to ~34 KB measured, almost all of it containment checks
+    private static final long INDEXED_EDGE_PAIR_BYTES_PER_EDGE_PAIR = 0;
+
+    private static final int CORPUS_SAMPLING_INTERVAL = 10;           // every 10th polygon which splits successfully
+
+    private static List<Entry> entries;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Assume.assumeTrue("Allocated bytes per thread are not supported by this JVM", AllocationMeter.isSupported());
+
+        entries = new ArrayList<>();
+        int successfulEntryCount = 0;
+        for (Entry entry : GoldenCorpus.read()) {
+            if (entry.failure == null && successfulEntryCount++ % CORPUS_SAMPLING_INTERVAL == 0) {
+                entries.add(entry);
+            }
+        }
+    }
+
+    @Test
+    public void splitStaysWithinBudgetPerVertexAndPart() throws Exception {
+        for (Entry entry : entries) {
+            Polygon polygon = entry.createPolygon();
+            GreedyPolygonSplitter splitter = GoldenCorpus.createSplitter();
+            long allocatedBytes = AllocationMeter.measure(() -> splitter.split(polygon, entry.parts));
+
+            assertWithinBudget("split of " + entry.shape + " " + entry.seed, allocatedBytes, (long) entry.vertexCount * entry.parts,
+                    SPLIT_BYTES_PER_VERTEX_AND_PART);
+        }
+    }
+
+    @Test
+    public void edgePairsAreSearchedWithoutAllocation() throws Exception {
+        GreedyPolygonSplitter bestFirst = new GreedyPolygonSplitter().withRectilinearCuts(false).withConvexWindows(false);
+        GreedyPolygonSplitter exhaustive = new GreedyPolygonSplitter().withRectilinearCuts(false).withConvexWindows(false).withPruning(false);
+        for (Entry entry : entries) {
+            Polygon polygon = entry.createPolygon();
+            SplitScratch scratch = new SplitScratch();
+            // no pair has this area, so every pair is evaluated and rejected by its areas, without any containment check
+            long bestFirstBytes = AllocationMeter.measure(() -> bestFirst.cut(polygon, Double.MAX_VALUE, scratch, null, Checkpoint.NONE));
+            long exhaustiveBytes = AllocationMeter.measure(() -> exhaustive.cut(polygon, Double.MAX_VALUE, scratch, null, Checkpoint.NONE));
+
+            // only the index of the ring is allocated, which takes a budget per vertex and leaves none per pair
+            assertWithinBudget("best-first search of " + entry.shape + " " + entry.seed, bestFirstBytes, entry.vertexCount, SEARCH_BYTES_PER_VERTEX);
+            assertWithinBudget("exhaustive search of " + entry.shape + " " + entry.seed, exhaustiveBytes, entry.vertexCount, SEARCH_BYTES_PER_VERTEX);
+        }
+    }
+
+    @Test
+    public void edgePairsStayWithinBudgetPerEdgePair() throws Exception {
+        for (Entry entry : entries) {
+            Polygon polygon = entry.createPolygon();
+            RingIndex ring = new RingIndex(polygon, true, true);
+            // no pair has this area, so every pair builds its subpolygons and is rejected by its areas, without any containment check
+            long allocatedBytes = AllocationMeter.measure(() -> {
+                for (int i = 0; i < ring.size() - 2; i++) {
+                    for (int j = i + 2; j < ring.size() && j - i + 1 < ring.size(); j++) {
+                        new EdgePair(ring.getSegment(i), ring.getSegment(j)).getSubpolygons().getCuts(ring, Double.MAX_VALUE, false);
+                    }
+                }
+            });
+
+            assertWithinBudget("EdgePair of " + entry.shape + " " + entry.seed, allocatedBytes, getEdgePairCount(ring), EDGE_PAIR_BYTES_PER_EDGE_PAIR);
+        }
+    }
+
+    @Test
+    public void indexedEdgePairCutsStayWithinBudgetPerEdgePair() throws Exception {
+        for (Entry entry : entries) {
+            Polygon polygon = entry.createPolygon();
+            RingIndex ring = new RingIndex(polygon, true, true);
+            IndexedEdgePair edgePair = new IndexedEdgePair();
+            double[] cuts = new double[IndexedEdgePair.MAX_CUTS_SIZE];
+            long allocatedBytes = AllocationMeter.measure(() -> getCuts(ring, polygon.getArea() / entry.parts, edgePair, cuts));
+
+            assertWithinBudget("IndexedEdgePair cuts of " + entry.shape + " " + entry.seed, allocatedBytes, getEdgePairCount(ring),
+                    INDEXED_EDGE_PAIR_CUTS_BYTES_PER_EDGE_PAIR);
+        }
+    }
+
+    @Test
+    public void indexedEdgePairsAreEvaluatedWithoutAllocation() throws Exception {
+        for (Entry entry : entries) {
+            Polygon polygon = entry.createPolygon();
+            RingIndex ring = new RingIndex(polygon, true, true);
+            IndexedEdgePair edgePair = new IndexedEdgePair();
+            double[] cuts = new double[IndexedEdgePair.MAX_CUTS_SIZE];
+            // no pair has this area, so every pair is rejected by its areas before any geometry is built
+            long allocatedBytes = AllocationMeter.measure(() -> getCuts(ring, Double.MAX_VALUE, edgePair, cuts));
+
+            assertWithinBudget("IndexedEdgePair of " + entry.shape + " " + entry.seed, allocatedBytes, getEdgePairCount(ring),
+                    INDEXED_EDGE_PAIR_BYTES_PER_EDGE_PAIR);
+        }
+    }
+
+    private static void getCuts(RingIndex ring, double singlePartArea, IndexedEdgePair edgePair, double[] cuts) {
+        for (int i = 0; i < ring.size() - 2; i++) {
+            for (int j = i + 2; j < ring.size() && j - i + 1 < ring.size(); j++) {
+                edgePair.set(ring, i, j).getCuts(ring, i, j, singlePartArea, cuts, false);
+            }
+        }
+    }
+
+    private static long getEdgePairCount(RingIndex ring) {
+        return (long) ring.size() * (ring.size() - 3) / 2;
+    }
+
+    private static void assertWithinBudget(String description, long allocatedBytes, long units, long budgetPerUnit) {
+        long budget = budgetPerUnit * units;
+        assertTrue(description + " allocated " + allocatedBytes + " bytes, budget is " + budget, allocatedBytes <= budget);
+    }
+}
@@ -0,0 +1,154 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.BudgetedSplit;
+import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.utils.PolygonGenerator;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+
+public class StripPolygonSplitterTest {
+
+    private final PolygonSplitter polygonSplitter = new StripPolygonSplitter();
+
+    @Test
+    public void splitRectangleAcrossItsLength() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 70 0, 70 10, 0 10, 0 0))");
+
+        List<Polygon> parts = polygonSplitter.split(polygon, 7);
+
+        assertEquals(7, parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+            assertEquals(100, parts.get(i).getArea(), 1e-9);
+            assertEquals(i * 10, parts.get(i).getEnvelopeInternal().getMinX(), 1e-9);
+            assertEquals(10, parts.get(i).getEnvelopeInternal().getWidth(), 1e-9);
+        }
+    }
+
+    @Test
+    public void splitRectangleInGivenDirection() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 70 0, 70 10, 0 10, 0 0))");
+
+        List<Polygon> parts = new StripPolygonSplitter().withDirection(0).split(polygon, 4);
+
+        assertEquals(4, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(175, part.getArea(), 1e-9);
+            assertEquals(70, part.getEnvelopeInternal().getWidth(), 1e-9);
+            assertEquals(2.5, part.getEnvelopeInternal().getHeight(), 1e-9);
+        }
+    }
+
+    @Test
+    public void splitTrapeziumInParallelStrips() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+
+        List<Polygon> parts = new StripPolygonSplitter().withDirection(Math.PI / 2).split(polygon, 5);
+
+        assertEquals(5, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(polygon.getArea() / 5, part.getArea(), 1e-9);
+        }
+    }
+
+    @Test
+    public void directionsCuttingTheConcavePolygonMoreThanOnceAreSkipped() throws Exception {
+        // U shape: vertical cuts through the base would cut the arms twice
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 30 0, 30 100, 20 100, 20 10, 10 10, 10 100, 0 100, 0 0))");
+
+        List<Polygon> parts = polygonSplitter.split(polygon, 3);
+
+        assertEquals(3, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(polygon.getArea() / 3, part.getArea(), 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void concavePolygonCutMoreThanOnceInTheGivenDirectionIsRejected() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 30 0, 30 100, 20 100, 20 10, 10 10, 10 100, 0 100, 0 0))");
+
+        new StripPolygonSplitter().withDirection(0).split(polygon, 3);
+    }
+
+    @Test
+    public void partsMakeUpGeneratedPolygons() throws Exception {
+        PolygonGenerator generator = new PolygonGenerator(9);
+        PolygonSplitter verifyingSplitter = new StripPolygonSplitter().withVerification(Verification.FULL);
+        for (Shape shape : new Shape[] { Shape.CONVEX, Shape.COMB, Shape.RECTILINEAR, Shape.PARCEL }) {
+            for (int i = 0; i < 10; i++) {
+                Polygon polygon = generator.generate(shape, 24);
+
+                List<Polygon> parts = verifyingSplitter.split(polygon, 10);
+
+                assertEquals(10, parts.size());
+                for (Polygon part : parts) {
+                    assertEquals(shape + " " + i, polygon.getArea() / 10, part.getArea(), polygon.getArea() * 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shortestDirectionIsChosen() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 40 0, 40 10, 0 10, 0 0))");
+
+        double shortestLength = getTotalCutLength(polygon, new StripPolygonSplitter().split(polygon, 4));
+
+        for (int i = 0; i < 8; i++) {
+            try {
+                List<Polygon> parts = new StripPolygonSplitter().withDirection(Math.PI * i / 8).split(polygon, 4);
+                assertTrue(shortestLength <= getTotalCutLength(polygon, parts) + 1e-9);
+            } catch (IllegalStateException e) {
+                // the direction cuts the polygon more than once
+            }
+        }
+        assertEquals(30, shortestLength, 1e-9);
+    }
+
+    @Test
+    public void budgetIsIgnored() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 70 0, 70 10, 0 10, 0 0))");
+
+        BudgetedSplit split = polygonSplitter.split(polygon, 7, 0, TimeUnit.NANOSECONDS);
+
+        assertFalse(split.isApproximate());
+        assertEquals(polygonSplitter.split(polygon, 7), split.getParts());
+    }
+
+    @Test
+    public void triangleLeftOverByAnotherSplitterIsSplitWithoutValidation() throws Exception {
+        Polygon triangle = (Polygon) new WKTReader().read("POLYGON ((0 0, 60 0, 0 10, 0 0))");
+
+        List<Polygon> parts = new StripPolygonSplitter().splitValid(triangle, 3);
+
+        assertEquals(3, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(100, part.getArea(), 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDirectionCountIsRejected() throws Exception {
+        new StripPolygonSplitter().withDirectionCount(0);
+    }
+
+    private static double getTotalCutLength(Polygon polygon, List<Polygon> parts) {
+        // every cut is on the boundary of two parts, the boundary of the polygon on the boundary of one
+        double totalLength = 0;
+        for (Polygon part : parts) {
+            totalLength += part.getLength();
+        }
+        return (totalLength - polygon.getLength()) / 2;
+    }
+}
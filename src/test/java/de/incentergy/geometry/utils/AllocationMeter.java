@@ -0,0 +1,54 @@
+package de.incentergy.geometry.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the bytes allocated by the current thread using the allocation counter of {@link com.sun.management.ThreadMXBean}.<br>
+ * Work handed over to other threads (e.g. a fork-join pool) is not counted.
+ */
+public final class AllocationMeter {
+
+    private static final int REPETITIONS = 5;
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * @return true if the JVM supports and enables counting of the allocated bytes per thread
+     */
+    public static boolean isSupported() {
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        return threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Runs the action several times and returns the least number of bytes allocated by one run, so that one-off allocations (class
+     * loading, lazy initialization, the first run of the interpreter) are not counted
+     */
+    public static long measure(Runnable action) {
+        long overhead = measureLeast(() -> {
+        });
+        return Math.max(0, measureLeast(action) - overhead);
+    }
+
+    private static long measureLeast(Runnable action) {
+        long allocatedBytes = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS; i++) {
+            allocatedBytes = Math.min(allocatedBytes, measureOnce(action));
+        }
+        return allocatedBytes;
+    }
+
+    private static long measureOnce(Runnable action) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        action.run();
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+}
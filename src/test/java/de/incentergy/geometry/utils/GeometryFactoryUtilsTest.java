@@ -82,6 +82,51 @@ public class GeometryFactoryUtilsTest {
             assertEquals("POLYGON ((20 0, 0 100, 80 100, 90 50, 20 0))", result.toString());
         }
 
+        @Test
+        public void pointOffTheEdgeByRounding() throws Exception {
+            Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 50 -10, 100 0, 90 50, 50 60, 10 50, 0 0))");
+
+            // computed points of cut, which are not exactly on the edges
+            Polygon result = GeometryFactoryUtils.slicePolygon(polygon, new Coordinate(63.8888370007869, -7.22223259984262), new Coordinate(65.39686394227257, 56.15078401443185));
+            assertEquals("POLYGON ((63.8888370007869 -7.22223259984262, 100 0, 90 50, 65.39686394227257 56.15078401443185, 63.8888370007869 -7.22223259984262))", result.toString());
+        }
+    }
 
+    public static class SplitPolygonTests {
+
+        @Test
+        public void pointOnEdgeToPointOnEdge() throws Exception {
+            Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 50 50, 100 20, 70 -20, 30 -10, 0 0))");
+
+            Polygon[] result = GeometryFactoryUtils.splitPolygon(polygon, new Coordinate(25, 25), new Coordinate(50, -15));
+            assertEquals("POLYGON ((25 25, 50 50, 100 20, 70 -20, 50 -15, 25 25))", result[0].toString());
+            assertEquals("POLYGON ((50 -15, 30 -10, 0 0, 25 25, 50 -15))", result[1].toString());
+        }
+
+        @Test
+        public void vertexToVertex() throws Exception {
+            Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 50 50, 100 20, 70 -20, 30 -10, 0 0))");
+
+            Polygon[] result = GeometryFactoryUtils.splitPolygon(polygon, new Coordinate(50, 50), new Coordinate(70, -20));
+            assertEquals("POLYGON ((50 50, 100 20, 70 -20, 50 50))", result[0].toString());
+            assertEquals("POLYGON ((70 -20, 30 -10, 0 0, 50 50, 70 -20))", result[1].toString());
+        }
+
+        @Test
+        public void runningThroughFirstPointOfRing() throws Exception {
+            Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 100, 80 100, 100 0, 20 0, 0 100))");
+
+            Polygon[] result = GeometryFactoryUtils.splitPolygon(polygon, new Coordinate(20, 0), new Coordinate(90, 50));
+            assertEquals("POLYGON ((20 0, 0 100, 80 100, 90 50, 20 0))", result[0].toString());
+            assertEquals("POLYGON ((90 50, 100 0, 20 0, 90 50))", result[1].toString());
+        }
+
+        @Test
+        public void partsCoverThePolygon() throws Exception {
+            Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 50 -10, 100 0, 90 50, 50 60, 10 50, 0 0))");
+
+            Polygon[] result = GeometryFactoryUtils.splitPolygon(polygon, new Coordinate(63.8888370007869, -7.22223259984262), new Coordinate(65.39686394227257, 56.15078401443185));
+            assertEquals(polygon.getArea(), result[0].getArea() + result[1].getArea(), 1e-9);
+        }
     }
 }
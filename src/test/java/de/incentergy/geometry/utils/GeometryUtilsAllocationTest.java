@@ -0,0 +1,130 @@
+package de.incentergy.geometry.utils;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.utils.GeometryUtils.IntersectionCoordinate;
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+
+/**
+ * Bytes allocated by the predicates of {@link GeometryUtils}, measured on all pairs of edges of generated polygons and compared to budgets per
+ * pair.<br>
+ * The predicates must not allocate, the constructions may allocate their result.
+ */
+public class GeometryUtilsAllocationTest {
+
+    private static final long PREDICATE_BYTES_PER_EDGE_PAIR = 0;
+    private static final long INTERSECTION_POINT_BYTES_PER_EDGE_PAIR = 128;      // the intersection and a temporary coordinate
+    private static final long PROJECTED_POINT_BYTES_PER_EDGE_PAIR = 64;          // the projected point
+
+    private static final int VERTEX_COUNT = 32;
+    private static final long SEED = 17;
+
+    private static List<Polygon> polygons;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Assume.assumeTrue("Allocated bytes per thread are not supported by this JVM", AllocationMeter.isSupported());
+
+        polygons = new ArrayList<>();
+        PolygonGenerator generator = new PolygonGenerator(SEED);
+        for (Shape shape : Shape.values()) {
+            polygons.add(generator.generate(shape, VERTEX_COUNT));
+        }
+    }
+
+    @Test
+    public void isPointOnLineSegmentDoesNotAllocate() throws Exception {
+        assertWithinBudget("isPointOnLineSegment", (edgeA, edgeB) -> {
+            GeometryUtils.isPointOnLineSegment(edgeA.p0, edgeB);
+            GeometryUtils.isPointOnLineSegmentExcludingEndpoints(edgeA.p1, edgeB);
+        }, PREDICATE_BYTES_PER_EDGE_PAIR);
+    }
+
+    @Test
+    public void isIntersectingPolygonDoesNotAllocate() throws Exception {
+        for (Polygon polygon : polygons) {
+            LineSegment[] edges = getEdges(polygon);
+            LineSegment diagonal = new LineSegment();
+            long allocatedBytes = AllocationMeter.measure(() -> {
+                for (int i = 0; i < edges.length; i++) {
+                    for (int j = 0; j < edges.length; j++) {
+                        diagonal.setCoordinates(edges[i].p0, edges[j].p1);
+                        GeometryUtils.isIntersectingPolygon(diagonal, polygon);
+                    }
+                }
+            });
+
+            assertWithinBudget("isIntersectingPolygon", allocatedBytes, (long) edges.length * edges.length, PREDICATE_BYTES_PER_EDGE_PAIR);
+        }
+    }
+
+    @Test
+    public void equalWithinDeltaDoesNotAllocate() throws Exception {
+        assertWithinBudget("equalWithinDelta", (edgeA, edgeB) -> GeometryUtils.equalWithinDelta(edgeA.getLength(), edgeB.getLength()),
+                PREDICATE_BYTES_PER_EDGE_PAIR);
+    }
+
+    @Test
+    public void getIntersectionPointAllocatesOnlyItsResult() throws Exception {
+        assertWithinBudget("getIntersectionPoint", GeometryUtils::getIntersectionPoint, INTERSECTION_POINT_BYTES_PER_EDGE_PAIR);
+    }
+
+    @Test
+    public void getProjectedPointAllocatesOnlyItsResult() throws Exception {
+        for (Polygon polygon : polygons) {
+            LineSegment[] edges = getEdges(polygon);
+            IntersectionCoordinate[][] intersections = new IntersectionCoordinate[edges.length][edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                for (int j = 0; j < edges.length; j++) {
+                    intersections[i][j] = GeometryUtils.getIntersectionPoint(edges[i], edges[j]);
+                }
+            }
+            long allocatedBytes = AllocationMeter.measure(() -> {
+                for (int i = 0; i < edges.length; i++) {
+                    for (int j = 0; j < edges.length; j++) {
+                        GeometryUtils.getProjectedPoint(edges[i].p1, edges[j], intersections[i][j]);
+                    }
+                }
+            });
+
+            assertWithinBudget("getProjectedPoint", allocatedBytes, (long) edges.length * edges.length, PROJECTED_POINT_BYTES_PER_EDGE_PAIR);
+        }
+    }
+
+    private static void assertWithinBudget(String description, BiConsumer<LineSegment, LineSegment> operation, long budgetPerEdgePair) {
+        for (Polygon polygon : polygons) {
+            LineSegment[] edges = getEdges(polygon);
+            long allocatedBytes = AllocationMeter.measure(() -> {
+                for (int i = 0; i < edges.length; i++) {
+                    for (int j = 0; j < edges.length; j++) {
+                        operation.accept(edges[i], edges[j]);
+                    }
+                }
+            });
+
+            assertWithinBudget(description, allocatedBytes, (long) edges.length * edges.length, budgetPerEdgePair);
+        }
+    }
+
+    private static LineSegment[] getEdges(Polygon polygon) {
+        // an array, as iterating over a list allocates an iterator
+        return GeometryUtils.getLineSegments(polygon.getExteriorRing()).toArray(new LineSegment[0]);
+    }
+
+    private static void assertWithinBudget(String description, long allocatedBytes, long edgePairCount, long budgetPerEdgePair) {
+        long budget = budgetPerEdgePair * edgePairCount;
+        assertTrue(description + " allocated " + allocatedBytes + " bytes for " + edgePairCount + " edge pairs, budget is " + budget,
+                allocatedBytes <= budget);
+    }
+}
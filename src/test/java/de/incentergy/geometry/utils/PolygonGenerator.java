@@ -0,0 +1,256 @@
+package de.incentergy.geometry.utils;
+
+import java.util.Random;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+
+/**
+ * Generates simple polygons (single exterior ring, no self-intersections) of a given number of vertices and a given {@link Shape}.<br>
+ * Generated polygons depend only on the seed and the sequence of calls, so a polygon can be reproduced from the seed it was generated with.
+ */
+public final class PolygonGenerator {
+
+    public enum Shape {
+
+        /**
+         * Vertices at random angles on an ellipse with random semi-axes
+         */
+        CONVEX(4) {
+            @Override
+            Coordinate[] createVertices(Random random, int vertexCount) {
+                double radiusX = 50 + random.nextDouble() * 100;
+                double radiusY = 50 + random.nextDouble() * 100;
+                double[] angles = getIncreasingAngles(random, vertexCount);
+                Coordinate[] vertices = new Coordinate[vertexCount];
+                for (int i = 0; i < vertexCount; i++) {
+                    vertices[i] = new Coordinate(radiusX * Math.cos(angles[i]), radiusY * Math.sin(angles[i]));
+                }
+                return vertices;
+            }
+        },
+
+        /**
+         * Vertices at random angles and random distances from the center, i.e. star-shaped with respect to the center
+         */
+        STAR(4) {
+            @Override
+            Coordinate[] createVertices(Random random, int vertexCount) {
+                double[] angles = getIncreasingAngles(random, vertexCount);
+                Coordinate[] vertices = new Coordinate[vertexCount];
+                for (int i = 0; i < vertexCount; i++) {
+                    double radius = 30 + random.nextDouble() * 70;
+                    vertices[i] = new Coordinate(radius * Math.cos(angles[i]), radius * Math.sin(angles[i]));
+                }
+                return vertices;
+            }
+        },
+
+        /**
+         * Comb with teeth of random width and height standing on a common base.<br>
+         * Vertex counts other than a multiple of 4 are reached by adding vertices below the base.
+         */
+        COMB(8) {
+            @Override
+            Coordinate[] createVertices(Random random, int vertexCount) {
+                int toothCount = vertexCount / 4;
+                int verticesBelowBase = vertexCount % 4;
+                double baseHeight = 5 + random.nextDouble() * 20;
+
+                Coordinate[] vertices = new Coordinate[vertexCount];
+                int v = 0;
+                vertices[v++] = new Coordinate(0, 0);
+                double x = 0;
+                for (int i = 0; i < toothCount; i++) {
+                    double toothHeight = baseHeight + 20 + random.nextDouble() * 100;
+                    double toothWidth = 5 + random.nextDouble() * 20;
+                    vertices[v++] = new Coordinate(x, toothHeight);
+                    vertices[v++] = new Coordinate(x + toothWidth, toothHeight);
+                    x += toothWidth;
+                    if (i < toothCount - 1) {
+                        double gapWidth = 5 + random.nextDouble() * 20;
+                        vertices[v++] = new Coordinate(x, baseHeight);
+                        vertices[v++] = new Coordinate(x + gapWidth, baseHeight);
+                        x += gapWidth;
+                    } else {
+                        vertices[v++] = new Coordinate(x, 0);
+                    }
+                }
+                for (int i = verticesBelowBase; i > 0; i--) {
+                    vertices[v++] = new Coordinate(x * i / (verticesBelowBase + 1), -1 - random.nextDouble() * 10);
+                }
+                return vertices;
+            }
+        },
+
+        /**
+         * Band of random width along an Archimedean spiral of up to two turns.<br>
+         * Odd vertex counts are reached by adding a tip at the end of the band.
+         */
+        SPIRAL(4) {
+            @Override
+            Coordinate[] createVertices(Random random, int vertexCount) {
+                int centerLineCount = vertexCount / 2;
+                double initialRadius = 25 + random.nextDouble() * 10;
+                double radiusPerRadian = 8 + random.nextDouble() * 4;
+                double halfWidth = radiusPerRadian * (1.25 + random.nextDouble() * 0.5);          // less than half of the distance between turns
+                double angleStep = Math.min(Math.PI / 6, 4 * Math.PI / (centerLineCount - 1));
+
+                Coordinate[] vertices = new Coordinate[vertexCount];
+                for (int i = 0; i < centerLineCount; i++) {
+                    double angle = i * angleStep;
+                    double radius = initialRadius + radiusPerRadian * angle;
+                    vertices[i] = pointAt(angle, radius + halfWidth);
+                    vertices[vertexCount - 1 - i] = pointAt(angle, radius - halfWidth);
+                }
+                if (vertexCount % 2 == 1) {
+                    double angle = (centerLineCount - 0.5) * angleStep;
+                    vertices[centerLineCount] = pointAt(angle, initialRadius + radiusPerRadian * angle);
+                }
+                return vertices;
+            }
+        },
+
+        /**
+         * Orthogonal polygon with a stepped top and a stepped bottom, having random step widths and heights.<br>
+         * Needs an even number of vertices.
+         */
+        RECTILINEAR(4) {
+            @Override
+            Coordinate[] createVertices(Random random, int vertexCount) {
+                if (vertexCount % 2 != 0) {
+                    throw new IllegalArgumentException("Rectilinear polygon must have an even number of vertices");
+                }
+                int bottomStepCount = vertexCount / 4;
+                int topStepCount = vertexCount / 2 - bottomStepCount;
+                double width = 50 + random.nextDouble() * 150;
+
+                Coordinate[] vertices = new Coordinate[vertexCount];
+                double[] bottomBreaks = getIncreasingBreaks(random, bottomStepCount, width);
+                for (int i = 0; i < bottomStepCount; i++) {
+                    double y = -5 - random.nextDouble() * 50;
+                    vertices[2 * i] = new Coordinate(bottomBreaks[i], y);
+                    vertices[2 * i + 1] = new Coordinate(bottomBreaks[i + 1], y);
+                }
+                double[] topBreaks = getIncreasingBreaks(random, topStepCount, width);
+                for (int i = 0; i < topStepCount; i++) {
+                    double y = 5 + random.nextDouble() * 50;
+                    vertices[2 * bottomStepCount + 2 * i] = new Coordinate(topBreaks[topStepCount - i], y);
+                    vertices[2 * bottomStepCount + 2 * i + 1] = new Coordinate(topBreaks[topStepCount - i - 1], y);
+                }
+                return vertices;
+            }
+        },
+
+        /**
+         * Land parcel: a skewed, rotated quadrilateral with vertices along its sides slightly off the straight line, located at coordinates
+         * typical for a projected coordinate reference system (hundreds of kilometers from the origin).
+         */
+        PARCEL(4) {
+            @Override
+            Coordinate[] createVertices(Random random, int vertexCount) {
+                double width = 20 + random.nextDouble() * 40;
+                double height = 30 + random.nextDouble() * 90;
+                Coordinate[] corners = {
+                        new Coordinate(0, 0),
+                        new Coordinate(width, 0),
+                        new Coordinate(width, height),
+                        new Coordinate(0, height)
+                };
+                for (Coordinate corner : corners) {
+                    corner.x += (random.nextDouble() - 0.5) * width * 0.2;
+                    corner.y += (random.nextDouble() - 0.5) * height * 0.2;
+                }
+
+                int[] verticesAlongSide = new int[4];
+                for (int i = 4; i < vertexCount; i++) {
+                    verticesAlongSide[random.nextInt(4)]++;
+                }
+
+                double rotation = random.nextDouble() * 2 * Math.PI;
+                double originX = 300_000 + random.nextDouble() * 400_000;
+                double originY = 5_000_000 + random.nextDouble() * 1_000_000;
+                Coordinate[] vertices = new Coordinate[vertexCount];
+                int v = 0;
+                for (int side = 0; side < 4; side++) {
+                    Coordinate start = corners[side];
+                    Coordinate end = corners[(side + 1) % 4];
+                    double length = start.distance(end);
+                    vertices[v++] = transform(start.x, start.y, rotation, originX, originY);
+
+                    // vertices stay within 5% of the side length from the corners and within 0.5% of it from the side
+                    double[] positions = getIncreasingBreaks(random, verticesAlongSide[side] + 1, 0.9);
+                    for (int i = 1; i <= verticesAlongSide[side]; i++) {
+                        double position = 0.05 + positions[i];
+                        double offset = (random.nextDouble() - 0.5) * length * 0.01;
+                        double x = start.x + (end.x - start.x) * position + (start.y - end.y) / length * offset;
+                        double y = start.y + (end.y - start.y) * position + (end.x - start.x) / length * offset;
+                        vertices[v++] = transform(x, y, rotation, originX, originY);
+                    }
+                }
+                return vertices;
+            }
+        };
+
+        private final int minimumVertexCount;
+
+        private Shape(int minimumVertexCount) {
+            this.minimumVertexCount = minimumVertexCount;
+        }
+
+        public int getMinimumVertexCount() {
+            return minimumVertexCount;
+        }
+
+        abstract Coordinate[] createVertices(Random random, int vertexCount);
+    }
+
+    private final Random random;
+
+    public PolygonGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @param vertexCount number of vertices of the exterior ring (without the closing one)
+     */
+    public Polygon generate(Shape shape, int vertexCount) {
+        if (vertexCount < shape.getMinimumVertexCount()) {
+            throw new IllegalArgumentException(shape + " must have at least " + shape.getMinimumVertexCount() + " vertices");
+        }
+        return GeometryFactoryUtils.createPolygon(shape.createVertices(random, vertexCount));
+    }
+
+    /**
+     * @return angles in [0, 2 * PI), a random one in every of the equal sectors of the circle
+     */
+    private static double[] getIncreasingAngles(Random random, int count) {
+        double[] angles = new double[count];
+        for (int i = 0; i < count; i++) {
+            angles[i] = 2 * Math.PI * (i + 0.1 + random.nextDouble() * 0.8) / count;
+        }
+        return angles;
+    }
+
+    /**
+     * @return count + 1 increasing values from 0 to length, splitting it into intervals of random length
+     */
+    private static double[] getIncreasingBreaks(Random random, int count, double length) {
+        double[] breaks = new double[count + 1];
+        for (int i = 1; i < count; i++) {
+            breaks[i] = length * (i - 0.4 + random.nextDouble() * 0.8) / count;
+        }
+        breaks[count] = length;
+        return breaks;
+    }
+
+    private static Coordinate pointAt(double angle, double radius) {
+        return new Coordinate(radius * Math.cos(angle), radius * Math.sin(angle));
+    }
+
+    private static Coordinate transform(double x, double y, double rotation, double originX, double originY) {
+        double cos = Math.cos(rotation);
+        double sin = Math.sin(rotation);
+        return new Coordinate(originX + x * cos - y * sin, originY + x * sin + y * cos);
+    }
+}
@@ -0,0 +1,53 @@
+package de.incentergy.geometry.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.utils.PolygonGenerator.Shape;
+
+public class PolygonGeneratorTest {
+
+    @Test
+    public void generatedPolygonsAreValid() throws Exception {
+        for (Shape shape : Shape.values()) {
+            for (int vertexCount = shape.getMinimumVertexCount(); vertexCount <= 200; vertexCount += shape == Shape.RECTILINEAR ? 2 : 1) {
+                PolygonGenerator generator = new PolygonGenerator(vertexCount);
+                for (int i = 0; i < 5; i++) {
+                    Polygon polygon = generator.generate(shape, vertexCount);
+                    String description = shape + " of " + vertexCount + " vertices: " + polygon;
+
+                    assertEquals(description, vertexCount + 1, polygon.getNumPoints());
+                    assertTrue(description, PolygonValidator.validate(polygon).isValid());
+                    assertTrue(description, polygon.isValid());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sameSeedGivesSamePolygons() throws Exception {
+        for (Shape shape : Shape.values()) {
+            PolygonGenerator generator = new PolygonGenerator(42);
+            PolygonGenerator sameGenerator = new PolygonGenerator(42);
+
+            Polygon polygon = generator.generate(shape, 12);
+            assertTrue(polygon.equalsExact(sameGenerator.generate(shape, 12)));
+            assertNotEquals(polygon, generator.generate(shape, 12));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooFewVerticesAreRejected() throws Exception {
+        new PolygonGenerator(0).generate(Shape.COMB, 7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rectilinearPolygonWithOddVertexCountIsRejected() throws Exception {
+        new PolygonGenerator(0).generate(Shape.RECTILINEAR, 9);
+    }
+}
@@ -0,0 +1,104 @@
+package de.incentergy.geometry.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.utils.PolygonValidator.Reason;
+import de.incentergy.geometry.utils.PolygonValidator.Result;
+
+public class PolygonValidatorTest {
+
+    @Test
+    public void simpleRingIsValid() throws Exception {
+        Result result = validate("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        assertTrue(result.isValid());
+        assertFalse(result.isCounterClockwise());
+        assertTrue(validate("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))").isCounterClockwise());
+    }
+
+    @Test
+    public void collinearVerticesAreValid() throws Exception {
+        assertTrue(validate("POLYGON ((0 0, 5 0, 10 0, 10 10, 0 10, 0 0))").isValid());
+    }
+
+    @Test
+    public void polygonWithHoleIsNotValid() throws Exception {
+        assertInvalid(Reason.HOLES, "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0), (2 2, 2 4, 4 4, 4 2, 2 2))");
+    }
+
+    @Test
+    public void triangleIsNotValid() throws Exception {
+        assertInvalid(Reason.TOO_FEW_VERTICES, "POLYGON ((0 0, 0 10, 10 0, 0 0))");
+    }
+
+    @Test
+    public void repeatedVertexIsNotValid() throws Exception {
+        assertInvalid(Reason.REPEATED_VERTEX, "POLYGON ((0 0, 0 10, 0 10, 10 10, 10 0, 0 0))");
+    }
+
+    @Test
+    public void crossingRingIsNotValid() throws Exception {
+        Result result = assertInvalid(Reason.SELF_INTERSECTION, "POLYGON ((0 0, 10 10, 10 0, 0 10, 0 0))");
+        assertNotNull(result.getLocation());
+    }
+
+    @Test
+    public void ringTouchingItselfIsNotValid() throws Exception {
+        assertInvalid(Reason.SELF_INTERSECTION, "POLYGON ((0 0, 0 10, 5 10, 5 0, 10 10, 10 0, 0 0))");        // vertex (5 0) on the edge (10 0)-(0 0)
+        assertInvalid(Reason.SELF_INTERSECTION, "POLYGON ((0 0, 0 10, 5 5, 10 10, 10 0, 5 5, 0 0))");          // vertex (5 5) is visited twice
+    }
+
+    @Test
+    public void ringGoingBackAlongItselfIsNotValid() throws Exception {
+        assertInvalid(Reason.SELF_INTERSECTION, "POLYGON ((0 0, 0 10, 10 10, 10 0, 15 0, 0 0))");
+    }
+
+    @Test
+    public void sameResultAsIsValidForRandomRings() throws Exception {
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            int vertexCount = 4 + random.nextInt(8);
+            Coordinate[] vertices = new Coordinate[vertexCount];
+            for (int v = 0; v < vertexCount; v++) {
+                vertices[v] = new Coordinate(random.nextInt(5), random.nextInt(5));
+            }
+            if (hasRepeatedVertex(vertices)) {
+                continue;
+            }
+            Polygon polygon = GeometryFactoryUtils.createPolygon(vertices);
+
+            assertEquals(polygon.toString(), polygon.isValid(), PolygonValidator.validate(polygon).isValid());
+        }
+    }
+
+    private static boolean hasRepeatedVertex(Coordinate[] vertices) {
+        for (int v = 0; v < vertices.length; v++) {
+            if (vertices[v].equals2D(vertices[(v + 1) % vertices.length])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Result assertInvalid(Reason expectedReason, String wkt) throws Exception {
+        Result result = validate(wkt);
+        assertFalse(result.isValid());
+        assertEquals(expectedReason, result.getReason());
+        return result;
+    }
+
+    private static Result validate(String wkt) throws Exception {
+        return PolygonValidator.validate((Polygon) new WKTReader().read(wkt));
+    }
+}
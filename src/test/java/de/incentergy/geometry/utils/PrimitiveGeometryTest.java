@@ -0,0 +1,62 @@
+package de.incentergy.geometry.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.algorithm.CGAlgorithms;
+import com.vividsolutions.jts.geom.Coordinate;
+
+public class PrimitiveGeometryTest {
+
+    @Test
+    public void orientationIndexMatchesJtsForNearlyCollinearPoints() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            Coordinate p1 = new Coordinate(random.nextDouble() * 1000, random.nextDouble() * 1000);
+            Coordinate p2 = new Coordinate(random.nextDouble() * 1000, random.nextDouble() * 1000);
+            double fraction = random.nextDouble() * 3 - 1;
+            Coordinate q = new Coordinate(p1.x + fraction * (p2.x - p1.x) + (random.nextInt(3) - 1) * Math.ulp(p1.x),
+                    p1.y + fraction * (p2.y - p1.y));
+
+            assertEquals(CGAlgorithms.orientationIndex(p1, p2, q), PrimitiveGeometry.orientationIndex(p1.x, p1.y, p2.x, p2.y, q.x, q.y));
+        }
+    }
+
+    @Test
+    public void pointOnSegmentWithinTolerance() throws Exception {
+        assertTrue(PrimitiveGeometry.isPointOnSegment(50, 100 + 5e-8, 0, 0, 100, 200));
+        assertTrue(PrimitiveGeometry.isPointOnSegment(100 + 5e-8, 200, 0, 0, 100, 200));       // beyond the end point, but within tolerance
+        assertFalse(PrimitiveGeometry.isPointOnSegment(50, 100 + 1e-6, 0, 0, 100, 200));
+        assertFalse(PrimitiveGeometry.isPointOnSegment(100.5, 201, 0, 0, 100, 200));           // on the line, but beyond the end point
+    }
+
+    @Test
+    public void pointOnSegmentExcludingEndpoints() throws Exception {
+        assertTrue(PrimitiveGeometry.isPointOnSegmentExcludingEndpoints(50, 100, 0, 0, 100, 200));
+        assertFalse(PrimitiveGeometry.isPointOnSegmentExcludingEndpoints(1e-8, 0, 0, 0, 100, 200));
+        assertFalse(PrimitiveGeometry.isPointOnSegmentExcludingEndpoints(100, 200, 0, 0, 100, 200));
+    }
+
+    @Test
+    public void crossingSegmentsIntersectProperly() throws Exception {
+        assertTrue(PrimitiveGeometry.isProperIntersection(0, 0, 10, 10, 0, 10, 10, 0));
+        assertFalse(PrimitiveGeometry.isProperIntersection(0, 0, 10, 10, 20, 0, 30, 10));      // disjoint
+        assertFalse(PrimitiveGeometry.isProperIntersection(0, 0, 10, 10, 5, 5, 10, 0));        // touching at an endpoint
+        assertFalse(PrimitiveGeometry.isProperIntersection(0, 0, 10, 10, 5 - 1e-9, 5, 10, 0)); // touching, off by a rounding error
+    }
+
+    @Test
+    public void intersectionPointIsWrittenToResult() throws Exception {
+        Coordinate result = new Coordinate();
+
+        assertTrue(PrimitiveGeometry.getIntersectionPoint(0, 10, 1, 9, 0, 0, 100, 0, result));
+        assertEquals(10, result.x, 0);
+        assertEquals(0, result.y, 0);
+        assertFalse(PrimitiveGeometry.getIntersectionPoint(0, 0, 10, 0, 0, 5, 10, 5, result));    // parallel
+    }
+}